@@ -0,0 +1,53 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares decoding a batch of tokens on a single thread with the parallel batch decode.
+ */
+@State(Scope.Benchmark)
+public class BatchDecodeBenchmark {
+
+    private static final int BATCH_SIZE = 10000;
+
+    private final List<String> tokens = new ArrayList<>(BATCH_SIZE);
+    private JWTDecoder decoder;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            tokens.add(i % 2 == 0 ? Tokens.accessToken() : Tokens.idToken());
+        }
+        decoder = new JWTDecoder.Builder().build();
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public List<DecodedJWT> sequential() {
+        List<DecodedJWT> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(decoder.decode(token));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<DecodeResult> decodeAll() {
+        return decoder.decodeAll(tokens, executor);
+    }
+}
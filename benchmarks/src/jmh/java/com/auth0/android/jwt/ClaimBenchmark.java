@@ -0,0 +1,181 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures reading the claims of an already decoded token.
+ */
+@State(Scope.Benchmark)
+public class ClaimBenchmark {
+
+    private static final ClaimKey<String> EMAIL = ClaimKey.string("email");
+    private static final ClaimKey<Long> LOGIN_COUNT = ClaimKey.longValue("login_count");
+    private static final ClaimKey<List<String>> ROLES = ClaimKey.stringList("roles");
+    private static final ClaimKey<String> MISSING = ClaimKey.string("missing");
+    private static final ClaimPath TIER = ClaimPath.compile("/https:~1~1example.com~1app_metadata/plan/tier");
+
+    private DecodedJWT jwt;
+    private DecodedJWT lazyJwt;
+    private DecodedJWT permissions;
+
+    @Setup
+    public void setUp() {
+        jwt = new DecodedJWT(Tokens.idToken());
+        lazyJwt = new JWTDecoder.Builder().lazyClaims(true).build().decode(Tokens.idToken());
+        permissions = new DecodedJWT(Tokens.permissionsToken(1000));
+    }
+
+    @Benchmark
+    public Claim getClaim() {
+        return jwt.getClaim("nickname");
+    }
+
+    @Benchmark
+    public Claim getMissingClaim() {
+        return jwt.getClaim("missing");
+    }
+
+    @Benchmark
+    public Boolean asBoolean() {
+        return jwt.getClaim("email_verified").asBoolean();
+    }
+
+    @Benchmark
+    public Integer asInt() {
+        return jwt.getClaim("login_count").asInt();
+    }
+
+    @Benchmark
+    public Long asLong() {
+        return jwt.getClaim("login_count").asLong();
+    }
+
+    @Benchmark
+    public Double asDouble() {
+        return jwt.getClaim("ratio").asDouble();
+    }
+
+    @Benchmark
+    public String asString() {
+        return jwt.getClaim("email").asString();
+    }
+
+    @Benchmark
+    public Date asDate() {
+        return jwt.getClaim("auth_time").asDate();
+    }
+
+    @Benchmark
+    public String[] asArray() {
+        return jwt.getClaim("roles").asArray(String.class);
+    }
+
+    @Benchmark
+    public List<String> asList() {
+        return jwt.getClaim("roles").asList(String.class);
+    }
+
+    @Benchmark
+    public List<String> asListOfPermissions() {
+        return permissions.getClaim("permissions").asList(String.class);
+    }
+
+    /**
+     * Converts a fresh copy of the claim, so the memoized result of previous calls is not used.
+     */
+    @Benchmark
+    public List<String> asListOfPermissionsFirstCall() {
+        return new ClaimImpl(((ClaimImpl) permissions.getClaim("permissions")).value).asList(String.class);
+    }
+
+    @Benchmark
+    public Profile asObject() {
+        return jwt.getClaim("profile").asObject(Profile.class);
+    }
+
+    /**
+     * Converts a fresh copy of the claim with Gson. Objects aren't memoized, so this matches {@link #asObject()}.
+     */
+    @Benchmark
+    public Profile asObjectFirstCall() {
+        return new ClaimImpl(((ClaimImpl) jwt.getClaim("profile")).value).asObject(Profile.class);
+    }
+
+    /**
+     * Converts a fresh copy of the claim with the binder generated for {@link BoundProfile}.
+     */
+    @Benchmark
+    public BoundProfile asObjectFirstCallWithBinder() {
+        return new ClaimImpl(((ClaimImpl) jwt.getClaim("profile")).value).asObject(BoundProfile.class);
+    }
+
+    @Benchmark
+    public Map<?, ?> asObjectMap() {
+        return jwt.getClaim("https://example.com/app_metadata").asObject(Map.class);
+    }
+
+    /**
+     * The baseline for {@link #nestedClaimWithPath()}: a fresh copy of the claim is bound to a Map and walked.
+     */
+    @Benchmark
+    public Object nestedClaimWithMap() {
+        Map<?, ?> metadata = new ClaimImpl(((ClaimImpl) jwt.getClaim("https://example.com/app_metadata")).value).asObject(Map.class);
+        return ((Map<?, ?>) metadata.get("plan")).get("tier");
+    }
+
+    @Benchmark
+    public String nestedClaimWithPath() {
+        return jwt.getClaim(TIER).asString();
+    }
+
+    /**
+     * Follows the path over the text of a claim that was never parsed.
+     */
+    @Benchmark
+    public String nestedClaimWithPathLazily() {
+        return lazyJwt.getClaim(TIER).asString();
+    }
+
+    @Benchmark
+    public String asStringWithKey() {
+        return jwt.get(EMAIL);
+    }
+
+    @Benchmark
+    public Long asLongWithKey() {
+        return jwt.get(LOGIN_COUNT);
+    }
+
+    @Benchmark
+    public List<String> asListWithKey() {
+        return jwt.get(ROLES);
+    }
+
+    @Benchmark
+    public String getMissingClaimWithKey() {
+        return jwt.get(MISSING);
+    }
+
+    @Benchmark
+    public boolean isExpired() {
+        return jwt.isExpired(10);
+    }
+
+    public static class Profile {
+        String name;
+        int id;
+    }
+
+    @JwtClaims
+    public static class BoundProfile {
+        String name;
+        int id;
+    }
+}
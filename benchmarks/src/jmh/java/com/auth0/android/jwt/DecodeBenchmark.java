@@ -0,0 +1,116 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Measures decoding a string JWT token with every JSON codec and in lazy mode, and reading only its Header.
+ */
+@State(Scope.Benchmark)
+public class DecodeBenchmark {
+
+    @Param({"small", "large", "permissions"})
+    public String size;
+
+    private String token;
+    private byte[] tokenBytes;
+    private JWTDecoder treeDecoder;
+    private JWTDecoder minimalDecoder;
+    private JWTDecoder lazyDecoder;
+    private JWTDecoder projectedDecoder;
+    private JWTDecoder measuredDecoder;
+
+    @Setup
+    public void setUp() {
+        token = Tokens.forSize(size);
+        tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+        treeDecoder = new JWTDecoder.Builder().jsonCodec(new TreeGsonCodec()).build();
+        minimalDecoder = new JWTDecoder.Builder().jsonCodec(JsonCodec.minimal()).build();
+        lazyDecoder = new JWTDecoder.Builder().lazyClaims(true).build();
+        projectedDecoder = new JWTDecoder.Builder().onlyClaims("sub", "exp", "org_id").build();
+        measuredDecoder = new JWTDecoder.Builder().listener(new DecodeMetrics()).build();
+    }
+
+    @Benchmark
+    public DecodedJWT constructor() {
+        return new DecodedJWT(token);
+    }
+
+    @Benchmark
+    public DecodedJWT fromBytes() {
+        return DecodedJWT.decode(tokenBytes, 0, tokenBytes.length);
+    }
+
+    /**
+     * The baseline for {@link #fromBytes()}: building the String first, as needed before bytes could be decoded.
+     */
+    @Benchmark
+    public DecodedJWT fromBytesViaString() {
+        return new DecodedJWT(new String(tokenBytes, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * The baseline for the default Gson codec: the payload is parsed into a tree before its claims are read.
+     */
+    @Benchmark
+    public DecodedJWT gsonTreeDeserializer() {
+        return treeDecoder.decode(token);
+    }
+
+    @Benchmark
+    public DecodedJWT minimalCodec() {
+        return minimalDecoder.decode(token);
+    }
+
+    @Benchmark
+    public DecodedJWT lazyClaims() {
+        return lazyDecoder.decode(token);
+    }
+
+    @Benchmark
+    public DecodedJWT projectedClaims() {
+        return projectedDecoder.decode(token);
+    }
+
+    /**
+     * The cost of timing every stage, compared to {@link #constructor()}.
+     */
+    @Benchmark
+    public DecodedJWT measured() {
+        return measuredDecoder.decode(token);
+    }
+
+    @Benchmark
+    public DecodedJWT decodeCached() {
+        return DecodedJWT.decodeCached(token);
+    }
+
+    @Benchmark
+    public JWTHeader peekHeader() {
+        return DecodedJWT.peekHeader(token);
+    }
+
+    /**
+     * Parses with Gson like the default codec, but reads the payload from the parsed tree.
+     */
+    private static class TreeGsonCodec extends JsonCodec {
+        @Override
+        public Object parse(Reader json) {
+            return toValue(parseTree(json));
+        }
+
+        @Override
+        JsonElement parseTree(Reader json) {
+            return JsonParser.parseReader(json);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.google.gson.JsonParser;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Measures the heap retained by each decoded token, next to the Gson tree of its payload as a baseline. Every
+ * invocation keeps a batch of decoded tokens reachable and reports the growth of the used heap after a full
+ * collection, divided by the batch size, in the {@code retainedBytesPerToken} counter. The string JWT token is shared
+ * by the whole batch, so only the decoded state is counted.
+ */
+@State(Scope.Thread)
+public class FootprintBenchmark {
+
+    private static final int BATCH_SIZE = 2000;
+
+    @Param({"small", "large", "permissions"})
+    public String size;
+
+    private String token;
+    private String payload;
+    private JWTDecoder decoder;
+    private final Object[] retained = new Object[BATCH_SIZE];
+
+    /**
+     * The counter reported next to the throughput. It holds the measurement of the last invocation of the iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytesPerToken;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytesPerToken = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        token = Tokens.forSize(size);
+        payload = new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+        decoder = new JWTDecoder.Builder().build();
+    }
+
+    @Benchmark
+    public void decodedJWT(Footprint footprint) {
+        long before = usedHeap();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            retained[i] = decoder.decode(token);
+        }
+        footprint.retainedBytesPerToken = (usedHeap() - before) / BATCH_SIZE;
+        Arrays.fill(retained, null);
+    }
+
+    /**
+     * The baseline for {@link #decodedJWT(Footprint)}: the payload as a tree of Gson elements.
+     */
+    @Benchmark
+    public void gsonTree(Footprint footprint) {
+        long before = usedHeap();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            retained[i] = JsonParser.parseString(payload);
+        }
+        footprint.retainedBytesPerToken = (usedHeap() - before) / BATCH_SIZE;
+        Arrays.fill(retained, null);
+    }
+
+    private static long usedHeap() {
+        //A few collections, as a single one may not clear everything that became unreachable
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
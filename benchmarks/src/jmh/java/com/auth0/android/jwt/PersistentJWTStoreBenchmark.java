@@ -0,0 +1,61 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares loading the tokens of a session from a {@link PersistentJWTStore} with decoding their strings again, as
+ * done at a cold start.
+ */
+@State(Scope.Benchmark)
+public class PersistentJWTStoreBenchmark {
+
+    private final Map<String, String> strings = new LinkedHashMap<>();
+    private File file;
+    private PersistentJWTStore store;
+
+    @Setup
+    public void setUp() throws IOException {
+        strings.put("id_token", Tokens.idToken());
+        strings.put("access_token", Tokens.accessToken());
+        strings.put("permissions", Tokens.forSize("permissions"));
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : strings.entrySet()) {
+            tokens.put(e.getKey(), new DecodedJWT(e.getValue()));
+        }
+        file = File.createTempFile("tokens", null);
+        store = new PersistentJWTStore(file);
+        store.save(tokens);
+    }
+
+    @TearDown
+    public void tearDown() {
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    @Benchmark
+    public Map<String, DecodedJWT> load() throws IOException {
+        return store.load();
+    }
+
+    /**
+     * The baseline for {@link #load()}: decoding every token again.
+     */
+    @Benchmark
+    public Map<String, DecodedJWT> decode() {
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : strings.entrySet()) {
+            tokens.put(e.getKey(), new DecodedJWT(e.getValue()));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,60 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Measures replacing a token in a watcher that already watches many of them.
+ */
+@State(Scope.Benchmark)
+public class TokenExpiryWatcherBenchmark {
+
+    private static final int TOKENS = 1024;
+
+    @Param({"100", "10000"})
+    public int watched;
+
+    private final DecodedJWT[] tokens = new DecodedJWT[TOKENS];
+    private String[] keys;
+    private TokenExpiryWatcher watcher;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        //Far in the future, so no token is notified while measuring
+        long exp = System.currentTimeMillis() / 1000 + 86400;
+        for (int i = 0; i < TOKENS; i++) {
+            String payload = "{\"sub\":\"user" + i + "\",\"exp\":" + (exp + i * 7919 % 3600) + "}";
+            tokens[i] = new DecodedJWT("eyJhbGciOiJIUzI1NiJ9." + Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".signature");
+        }
+        keys = new String[watched];
+        watcher = new TokenExpiryWatcher.Builder().build(new TokenExpiryWatcher.Listener() {
+            @Override
+            public void onExpiring(String key, DecodedJWT jwt) {
+            }
+        });
+        for (int i = 0; i < watched; i++) {
+            keys[i] = "account" + i;
+            watcher.watch(keys[i], tokens[i % TOKENS]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        watcher.shutdown();
+    }
+
+    @Benchmark
+    public void replace() {
+        int i = next++;
+        watcher.watch(keys[i % keys.length], tokens[i % TOKENS]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.auth0.android.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Sample tokens of different sizes used by the benchmarks.
+ */
+final class Tokens {
+
+    private static final String HEADER = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"NkJCQzIyQzRBMEU4NjhGNUU4MzU4RkY0M0ZDQzkwOUQ0Q0VGNUMwQg\"}";
+
+    private Tokens() {
+    }
+
+    /**
+     * Creates a token with the given size.
+     *
+     * @param size one of "small", "large" or "permissions".
+     * @return the string JWT token.
+     */
+    static String forSize(String size) {
+        switch (size) {
+            case "small":
+                return accessToken();
+            case "large":
+                return idToken();
+            case "permissions":
+                return permissionsToken(1000);
+            default:
+                throw new IllegalArgumentException("Unknown token size " + size);
+        }
+    }
+
+    static String accessToken() {
+        return encode("{" + registeredClaims() +
+                ",\"azp\":\"YqDLFUS0dzl8eLLzLGYv3bGhoEq1MO0F\"" +
+                ",\"scope\":\"openid profile email offline_access\"" +
+                ",\"gty\":\"password\"}");
+    }
+
+    static String idToken() {
+        StringBuilder sb = new StringBuilder("{").append(registeredClaims());
+        sb.append(",\"nickname\":\"john.doe\",\"name\":\"John Doe\",\"email_verified\":true,\"admin\":false")
+                .append(",\"picture\":\"https://s.gravatar.com/avatar/0f8a1a7cd1b3a43ee4a7c8b8b3f66bd2?s=480&r=pg\"")
+                .append(",\"updated_at\":\"2020-03-05T12:00:00.000Z\",\"email\":\"john.doe@example.com\"")
+                .append(",\"login_count\":1234,\"ratio\":0.75,\"auth_time\":1583409600")
+                .append(",\"profile\":{\"name\":\"john\",\"id\":3}")
+                .append(",\"https://example.com/app_metadata\":{\"plan\":{\"tier\":\"gold\",\"seats\":25},\"flags\":[\"a\",\"b\",\"c\"]}")
+                .append(",\"roles\":[");
+        for (int i = 0; i < 20; i++) {
+            sb.append(i == 0 ? "" : ",").append("\"role-").append(i).append('"');
+        }
+        sb.append("],\"https://example.com/user_metadata\":{");
+        for (int i = 0; i < 60; i++) {
+            sb.append(i == 0 ? "" : ",").append("\"preference_").append(i).append("\":\"value number ").append(i).append('"');
+        }
+        sb.append("}}");
+        return encode(sb.toString());
+    }
+
+    static String permissionsToken(int count) {
+        StringBuilder sb = new StringBuilder("{").append(registeredClaims()).append(",\"permissions\":[");
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "" : ",").append("\"read:resource-").append(i).append('"');
+        }
+        sb.append("]}");
+        return encode(sb.toString());
+    }
+
+    private static String registeredClaims() {
+        long now = System.currentTimeMillis() / 1000;
+        return "\"iss\":\"https://example.auth0.com/\",\"sub\":\"auth0|5e60f1d2a3b4c5d6e7f80912\"" +
+                ",\"aud\":[\"https://api.example.com\",\"https://example.auth0.com/userinfo\"]" +
+                ",\"iat\":" + now + ",\"exp\":" + (now + 86400) + ",\"jti\":\"6b9f4c1e-3d1a-4c51-9b7e-1f0b5d6c7a8e\"";
+    }
+
+    private static String encode(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(HEADER.getBytes(StandardCharsets.UTF_8)) + "." +
+                encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." +
+                "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk";
+    }
+}
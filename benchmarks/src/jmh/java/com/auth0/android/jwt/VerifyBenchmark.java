@@ -0,0 +1,89 @@
+package com.auth0.android.jwt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Compares verifying a signature with {@link JWTVerifier} with the usual per-token approach: decoding the signature
+ * String, encoding the signing input again and looking the Mac or Signature up for every token.
+ */
+@State(Scope.Benchmark)
+public class VerifyBenchmark {
+
+    private static final byte[] SECRET = "a shared secret for the benchmarks".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"HS256", "RS256"})
+    public String algorithm;
+
+    private KeyPair keys;
+    private DecodedJWT jwt;
+    private JWTVerifier verifier;
+
+    @Setup
+    public void setUp() throws GeneralSecurityException {
+        String token = Tokens.idToken();
+        String input = token.substring(0, token.lastIndexOf('.'));
+        //Sign the token again with the benchmarked algorithm
+        String header = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("{\"alg\":\"" + algorithm + "\",\"typ\":\"JWT\"}").getBytes(StandardCharsets.UTF_8));
+        input = header + input.substring(input.indexOf('.'));
+        byte[] signature;
+        if (algorithm.equals("HS256")) {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+            signature = mac.doFinal(input.getBytes(StandardCharsets.US_ASCII));
+            verifier = new JWTVerifier.Builder().secret(SECRET).build();
+        } else {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            keys = generator.generateKeyPair();
+            Signature signer = Signature.getInstance("SHA256withRSA");
+            signer.initSign(keys.getPrivate());
+            signer.update(input.getBytes(StandardCharsets.US_ASCII));
+            signature = signer.sign();
+            verifier = new JWTVerifier.Builder().publicKey(keys.getPublic()).build();
+        }
+        jwt = new DecodedJWT(input + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature));
+        if (!verifier.verify(jwt) || !perToken()) {
+            throw new IllegalStateException("The token wasn't verified");
+        }
+    }
+
+    @Benchmark
+    public boolean verifier() {
+        return verifier.verify(jwt);
+    }
+
+    /**
+     * The baseline for {@link #verifier()}.
+     */
+    @Benchmark
+    public boolean perToken() throws GeneralSecurityException {
+        String token = jwt.toString();
+        byte[] input = token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+        byte[] signature = Base64.getUrlDecoder().decode(jwt.getSignature());
+        if (algorithm.equals("HS256")) {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+            return MessageDigest.isEqual(mac.doFinal(input), signature);
+        }
+        Signature verifier = Signature.getInstance("SHA256withRSA");
+        verifier.initVerify(keys.getPublic());
+        verifier.update(input);
+        return verifier.verify(signature);
+    }
+}
@@ -0,0 +1,94 @@
+package com.auth0.android.jwt;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The AsciiSequence class exposes a range of bytes as characters, one per byte, so a token received as bytes can be
+ * decoded without building a String first. Bytes outside the ASCII range are mapped to the matching Latin-1
+ * character, which is never valid in a token.
+ */
+final class AsciiSequence implements CharSequence {
+
+    private final byte[] array;
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    AsciiSequence(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > array.length - length) {
+            throw new IndexOutOfBoundsException("offset=" + offset + ", length=" + length + ", size=" + array.length);
+        }
+        this.array = array;
+        this.buffer = null;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    AsciiSequence(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.buffer = null;
+            this.offset = buffer.arrayOffset() + buffer.position();
+        } else {
+            //Only absolute reads are used, so the position of the buffer is never changed
+            this.array = null;
+            this.buffer = buffer;
+            this.offset = buffer.position();
+        }
+        this.length = buffer.remaining();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (array != null) {
+            return (char) (array[offset + index] & 0xFF);
+        }
+        return (char) (buffer.get(offset + index) & 0xFF);
+    }
+
+    /**
+     * Get a range of the bytes as a buffer over them, without copying them.
+     *
+     * @param start the index of the first byte.
+     * @param end   the index after the last byte.
+     * @return a new buffer positioned at the start of the range and limited to its end.
+     */
+    ByteBuffer bytes(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + length);
+        }
+        if (array != null) {
+            return ByteBuffer.wrap(array, offset + start, end - start);
+        }
+        ByteBuffer range = buffer.duplicate();
+        range.limit(offset + end);
+        range.position(offset + start);
+        return range;
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return toString(0, length);
+    }
+
+    private String toString(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start=" + start + ", end=" + end + ", length=" + length);
+        }
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = charAt(i);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,208 @@
+package com.auth0.android.jwt;
+
+import java.io.Reader;
+
+/**
+ * The Base64UrlReader class reads the text encoded in a Base64 URL-safe segment of a token. The characters are
+ * decoded to bytes and then to UTF-8 code points on the fly, so no intermediate byte array or String is created.
+ * A single instance can be reused by calling {@link #reset(CharSequence, int, int)}.
+ */
+class Base64UrlReader extends Reader {
+
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        for (int i = 0; i < DECODE.length; i++) {
+            DECODE[i] = -1;
+        }
+        for (int i = 'A'; i <= 'Z'; i++) {
+            DECODE[i] = (byte) (i - 'A');
+        }
+        for (int i = 'a'; i <= 'z'; i++) {
+            DECODE[i] = (byte) (i - 'a' + 26);
+        }
+        for (int i = '0'; i <= '9'; i++) {
+            DECODE[i] = (byte) (i - '0' + 52);
+        }
+        DECODE['-'] = DECODE['+'] = 62;
+        DECODE['_'] = DECODE['/'] = 63;
+    }
+
+    private CharSequence source;
+    private int pos;
+    private int end;
+
+    //Base64 state
+    private int bits;
+    private int bitCount;
+
+    //UTF-8 state
+    private int codePoint;
+    private int needed;
+    private int minimum;
+    private int pushback;
+    private int pending;
+
+    /**
+     * Starts reading a new segment.
+     *
+     * @param source the characters that contain the segment.
+     * @param start  the index of the first character of the segment.
+     * @param end    the index after the last character of the segment.
+     * @return this same reader.
+     * @throws DecodeException if the segment has an invalid length.
+     */
+    Base64UrlReader reset(CharSequence source, int start, int end) {
+        int padding = 0;
+        while (end > start && padding < 2 && source.charAt(end - 1) == '=') {
+            end--;
+            padding++;
+        }
+        if ((end - start) % 4 == 1) {
+            throw invalidBase64();
+        }
+        this.source = source;
+        this.pos = start;
+        this.end = end;
+        this.bits = 0;
+        this.bitCount = 0;
+        this.needed = 0;
+        this.pushback = -1;
+        this.pending = -1;
+        return this;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int n = off;
+        int limit = off + len;
+        if (pending != -1) {
+            cbuf[n++] = (char) pending;
+            pending = -1;
+        }
+        while (n < limit) {
+            int b = nextByte();
+            if (b == -1) {
+                if (needed > 0) {
+                    //truncated sequence
+                    needed = 0;
+                    cbuf[n++] = REPLACEMENT;
+                }
+                break;
+            }
+            if (needed == 0) {
+                if (b < 0x80) {
+                    cbuf[n++] = (char) b;
+                } else if (b >= 0xC2 && b <= 0xDF) {
+                    codePoint = b & 0x1F;
+                    needed = 1;
+                    minimum = 0x80;
+                } else if (b >= 0xE0 && b <= 0xEF) {
+                    codePoint = b & 0x0F;
+                    needed = 2;
+                    minimum = 0x800;
+                } else if (b >= 0xF0 && b <= 0xF4) {
+                    codePoint = b & 0x07;
+                    needed = 3;
+                    minimum = 0x10000;
+                } else {
+                    cbuf[n++] = REPLACEMENT;
+                }
+            } else if ((b & 0xC0) != 0x80) {
+                //malformed sequence, read this byte again as the start of a new one
+                needed = 0;
+                pushback = b;
+                cbuf[n++] = REPLACEMENT;
+            } else {
+                codePoint = (codePoint << 6) | (b & 0x3F);
+                if (--needed == 0) {
+                    if (codePoint < minimum || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) {
+                        cbuf[n++] = REPLACEMENT;
+                    } else if (codePoint < 0x10000) {
+                        cbuf[n++] = (char) codePoint;
+                    } else {
+                        cbuf[n++] = (char) ((codePoint >>> 10) + (0xD800 - (0x10000 >>> 10)));
+                        char low = (char) ((codePoint & 0x3FF) + 0xDC00);
+                        if (n < limit) {
+                            cbuf[n++] = low;
+                        } else {
+                            pending = low;
+                        }
+                    }
+                }
+            }
+        }
+        int count = n - off;
+        return count == 0 ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+        source = null;
+    }
+
+    private int nextByte() {
+        if (pushback != -1) {
+            int b = pushback;
+            pushback = -1;
+            return b;
+        }
+        while (bitCount < 8) {
+            if (pos == end) {
+                return -1;
+            }
+            char c = source.charAt(pos++);
+            int value = c < 128 ? DECODE[c] : -1;
+            if (value == -1) {
+                throw invalidBase64();
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+        }
+        bitCount -= 8;
+        return (bits >>> bitCount) & 0xFF;
+    }
+
+    /**
+     * Decodes a Base64 URL-safe segment straight to bytes, e.g. a signature. Unlike the reader, it's strict: only the
+     * URL-safe alphabet without padding is accepted, and the unused bits of the last character must be zero, so each
+     * byte sequence has a single valid encoding.
+     *
+     * @param source the characters that contain the segment.
+     * @param start  the index of the first character of the segment.
+     * @param end    the index after the last character of the segment.
+     * @param out    the array to write the bytes to, with room for at least {@code (end - start) * 3 / 4} bytes.
+     * @return the number of bytes written, or -1 if the segment isn't valid Base64.
+     */
+    static int decodeBytes(CharSequence source, int start, int end, byte[] out) {
+        if ((end - start) % 4 == 1) {
+            return -1;
+        }
+        int count = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            int value = c < DECODE.length && c != '+' && c != '/' ? DECODE[c] : -1;
+            if (value == -1) {
+                return -1;
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                out[count++] = (byte) (bits >> bitCount);
+            }
+        }
+        //The 2 or 4 bits left over by a partial group must be zero
+        return (bits & ((1 << bitCount) - 1)) == 0 ? count : -1;
+    }
+
+    private static DecodeException invalidBase64() {
+        return new DecodeException(DecodeException.Reason.INVALID_BASE64, "Received bytes didn't correspond to a valid Base64 encoded string.");
+    }
+}
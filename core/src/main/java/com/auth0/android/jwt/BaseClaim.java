@@ -11,6 +11,11 @@ import java.util.List;
  */
 class BaseClaim implements Claim {
 
+    /**
+     * The Claim returned for every claim that is missing. It holds no state, so a single instance is shared.
+     */
+    static final BaseClaim MISSING = new BaseClaim();
+
     @Nullable
     @Override
     public Boolean asBoolean() {
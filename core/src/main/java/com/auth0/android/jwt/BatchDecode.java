@@ -0,0 +1,110 @@
+package com.auth0.android.jwt;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The BatchDecode class decodes a batch of tokens on several threads. Workers claim small blocks of the input
+ * until none are left, so uneven token sizes still keep every worker busy, and write each result at the index of
+ * its token. Every worker reuses the per-thread decoding buffers. The calling thread claims blocks too and then
+ * only waits for the blocks other workers already claimed, so a worker that never gets to run, e.g. because the
+ * executor is saturated or the caller is one of its threads, never holds the batch back.
+ */
+class BatchDecode implements Runnable {
+
+    private static final int BLOCK_SIZE = 32;
+
+    private final JWTDecoder decoder;
+    private final String[] tokens;
+    private final DecodeResult[] results;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    //Tokens not processed yet. The worker that processes the last one opens the latch.
+    private final AtomicInteger remaining;
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final AtomicReference<Error> unexpected = new AtomicReference<>();
+
+    BatchDecode(JWTDecoder decoder, Collection<String> tokens) {
+        this.decoder = decoder;
+        this.tokens = tokens.toArray(new String[tokens.size()]);
+        this.results = new DecodeResult[this.tokens.length];
+        this.remaining = new AtomicInteger(this.tokens.length);
+    }
+
+    List<DecodeResult> run(Executor executor) {
+        int blocks = (tokens.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int workers = Math.min(Runtime.getRuntime().availableProcessors(), blocks);
+        //The calling thread works too, so only the remaining workers are submitted
+        for (int i = 1; i < workers; i++) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        decodeBlocks();
+        if (tokens.length > 0) {
+            awaitClaimedBlocks();
+        }
+        Error error = unexpected.get();
+        if (error != null) {
+            throw error;
+        }
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    @Override
+    public void run() {
+        decodeBlocks();
+    }
+
+    private void decodeBlocks() {
+        int start;
+        while ((start = nextIndex.getAndAdd(BLOCK_SIZE)) < tokens.length) {
+            int end = Math.min(start + BLOCK_SIZE, tokens.length);
+            try {
+                for (int i = start; i < end; i++) {
+                    results[i] = decode(tokens[i]);
+                }
+            } catch (Error e) {
+                unexpected.compareAndSet(null, e);
+                throw e;
+            } finally {
+                if (remaining.addAndGet(start - end) == 0) {
+                    finished.countDown();
+                }
+            }
+        }
+    }
+
+    private DecodeResult decode(String token) {
+        try {
+            return DecodeResult.success(token, decoder.decode(token));
+        } catch (DecodeException e) {
+            return DecodeResult.failure(token, e);
+        } catch (RuntimeException e) {
+            return DecodeResult.failure(token, new DecodeException(DecodeException.Reason.UNEXPECTED_ERROR, "The token couldn't be decoded.", e));
+        }
+    }
+
+    private void awaitClaimedBlocks() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                finished.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -75,7 +75,7 @@ public interface Claim {
 
     /**
      * Get this Claim as a List of type T.
-     * If the value isn't an Array, an empty List will be returned.
+     * If the value isn't an Array, an empty List will be returned. The returned List can't be modified.
      *
      * @return the value as a List or an empty List.
      * @throws DecodeException if the values inside the List can't be converted to a class T.
@@ -84,7 +84,8 @@ public interface Claim {
 
     /**
      * Get this Claim as a Object of type T.
-     * If the value isn't of type Object, null will be returned.
+     * If the value isn't of type Object, null will be returned. A new instance is bound on every call, so the
+     * returned value can be modified without affecting later calls.
      *
      * @return the value as a Object of type T or null.
      * @throws DecodeException if the value can't be converted to a class T.
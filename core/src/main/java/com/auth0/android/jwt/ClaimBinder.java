@@ -0,0 +1,149 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ClaimBinder class converts the value of a claim to a given type without reflection. Subclasses are generated
+ * by the {@code jwtdecode-processor} annotation processor for every {@link JwtClaims} type, named after the type
+ * with the {@code _JwtClaimsBinder} suffix, and are found automatically by {@link Claim#asObject(Class)},
+ * {@link Claim#asList(Class)} and {@link Claim#asArray(Class)}.
+ *
+ * @param <T> the type the values are converted to.
+ */
+public abstract class ClaimBinder<T> {
+
+    static final String SUFFIX = "_JwtClaimsBinder";
+
+    private static final Object NONE = new Object();
+    private static final ConcurrentHashMap<Class<?>, Object> BINDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Binds values as Strings.
+     */
+    public static final ClaimBinder<String> STRING = new ClaimBinder<String>() {
+        @Override
+        public String bind(@NonNull ClaimReader reader) throws IOException {
+            return reader.nextString();
+        }
+    };
+
+    /**
+     * Binds values as Booleans.
+     */
+    public static final ClaimBinder<Boolean> BOOLEAN = new ClaimBinder<Boolean>() {
+        @Override
+        public Boolean bind(@NonNull ClaimReader reader) throws IOException {
+            return reader.nextBoolean();
+        }
+    };
+
+    /**
+     * Binds values as Integers.
+     */
+    public static final ClaimBinder<Integer> INTEGER = new ClaimBinder<Integer>() {
+        @Override
+        public Integer bind(@NonNull ClaimReader reader) throws IOException {
+            return reader.nextInt();
+        }
+    };
+
+    /**
+     * Binds values as Longs.
+     */
+    public static final ClaimBinder<Long> LONG = new ClaimBinder<Long>() {
+        @Override
+        public Long bind(@NonNull ClaimReader reader) throws IOException {
+            return reader.nextLong();
+        }
+    };
+
+    /**
+     * Binds values as Floats.
+     */
+    public static final ClaimBinder<Float> FLOAT = new ClaimBinder<Float>() {
+        @Override
+        public Float bind(@NonNull ClaimReader reader) throws IOException {
+            return reader.nextFloat();
+        }
+    };
+
+    /**
+     * Binds values as Doubles.
+     */
+    public static final ClaimBinder<Double> DOUBLE = new ClaimBinder<Double>() {
+        @Override
+        public Double bind(@NonNull ClaimReader reader) throws IOException {
+            return reader.nextDouble();
+        }
+    };
+
+    /**
+     * Converts the next value of the given reader. The value is never null.
+     *
+     * @param reader the reader positioned before the value.
+     * @return the converted value.
+     * @throws IOException if the value can't be converted.
+     */
+    public abstract T bind(@NonNull ClaimReader reader) throws IOException;
+
+    /**
+     * Converts the next value of the given reader, which must be an array, to a List. Null elements stay null.
+     *
+     * @param reader        the reader positioned before the array.
+     * @param elementBinder the binder of the elements.
+     * @param <E>           the type of the elements.
+     * @return the converted list.
+     * @throws IOException if the value can't be converted.
+     */
+    @NonNull
+    public static <E> List<E> bindList(@NonNull ClaimReader reader, @NonNull ClaimBinder<E> elementBinder) throws IOException {
+        List<E> list = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (reader.isNull()) {
+                reader.skipValue();
+                list.add(null);
+            } else {
+                list.add(elementBinder.bind(reader));
+            }
+        }
+        reader.endArray();
+        return list;
+    }
+
+    /**
+     * Finds the generated binder of the given type. The result of the lookup is kept, so the class is searched
+     * only once.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> ClaimBinder<T> find(Class<T> type) {
+        Object binder = BINDERS.get(type);
+        if (binder == null) {
+            binder = load(type);
+            BINDERS.putIfAbsent(type, binder);
+        }
+        return binder == NONE ? null : (ClaimBinder<T>) binder;
+    }
+
+    private static Object load(Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.getName().startsWith("java.")) {
+            return NONE;
+        }
+        String name = type.getName();
+        int packageEnd = name.lastIndexOf('.');
+        //Nested classes are flattened, e.g. Outer$Inner is bound by Outer_Inner_JwtClaimsBinder
+        String binderName = name.substring(0, packageEnd + 1) + name.substring(packageEnd + 1).replace('$', '_') + SUFFIX;
+        try {
+            return Class.forName(binderName, true, type.getClassLoader()).newInstance();
+        } catch (Exception | LinkageError e) {
+            return NONE;
+        }
+    }
+}
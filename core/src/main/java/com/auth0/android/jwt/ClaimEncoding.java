@@ -0,0 +1,161 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * The ClaimEncoding class writes already decoded claims in a compact tagged binary format, so they can be read back
+ * without parsing any JSON. Claims that were never parsed in lazy mode are kept as their raw JSON text and read back
+ * as lazy claims again.
+ */
+class ClaimEncoding {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_TRUE = 1;
+    private static final int TAG_FALSE = 2;
+    private static final int TAG_NUMBER = 3;
+    private static final int TAG_STRING = 4;
+    private static final int TAG_ARRAY = 5;
+    private static final int TAG_OBJECT = 6;
+    private static final int TAG_RAW = 7;
+
+    private ClaimEncoding() {
+    }
+
+    static byte[] encode(Map<String, Claim> claims) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(claims.size());
+            for (Map.Entry<String, Claim> e : claims.entrySet()) {
+                writeString(out, e.getKey());
+                writeClaim(out, e.getValue());
+            }
+            out.flush();
+        } catch (IOException e) {
+            //Writing to memory never fails
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ClaimStore decode(byte[] encoded) throws IOException {
+        return decode(encoded, 0, encoded.length);
+    }
+
+    static ClaimStore decode(byte[] encoded, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded, offset, length));
+        int size = in.readInt();
+        ClaimStore.Builder claims = new ClaimStore.Builder();
+        for (int i = 0; i < size; i++) {
+            String name = readString(in);
+            int tag = in.readUnsignedByte();
+            if (tag == TAG_RAW) {
+                char[] json = readString(in).toCharArray();
+                claims.add(name, new LazyClaim(json, 0, json.length));
+            } else {
+                claims.add(name, readValue(in, tag));
+            }
+        }
+        return claims.build();
+    }
+
+    private static void writeClaim(DataOutputStream out, Claim claim) throws IOException {
+        if (claim instanceof LazyClaim) {
+            LazyClaim lazy = (LazyClaim) claim;
+            if (!lazy.isParsed()) {
+                out.writeByte(TAG_RAW);
+                writeString(out, lazy.rawJson());
+                return;
+            }
+            claim = lazy.claim();
+        }
+        writeValue(out, ((ClaimImpl) claim).value);
+    }
+
+    private static void writeValue(DataOutputStream out, JsonElement value) throws IOException {
+        if (value.isJsonNull()) {
+            out.writeByte(TAG_NULL);
+        } else if (value.isJsonArray()) {
+            JsonArray array = value.getAsJsonArray();
+            out.writeByte(TAG_ARRAY);
+            out.writeInt(array.size());
+            for (JsonElement item : array) {
+                writeValue(out, item);
+            }
+        } else if (value.isJsonObject()) {
+            JsonObject object = value.getAsJsonObject();
+            out.writeByte(TAG_OBJECT);
+            out.writeInt(object.size());
+            for (Map.Entry<String, JsonElement> e : object.entrySet()) {
+                writeString(out, e.getKey());
+                writeValue(out, e.getValue());
+            }
+        } else {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+            } else {
+                out.writeByte(primitive.isNumber() ? TAG_NUMBER : TAG_STRING);
+                writeString(out, primitive.getAsString());
+            }
+        }
+    }
+
+    private static JsonElement readValue(DataInputStream in, int tag) throws IOException {
+        switch (tag) {
+            case TAG_NULL:
+                return JsonNull.INSTANCE;
+            case TAG_TRUE:
+                return new JsonPrimitive(Boolean.TRUE);
+            case TAG_FALSE:
+                return new JsonPrimitive(Boolean.FALSE);
+            case TAG_NUMBER:
+                return new JsonPrimitive(new JsonNumber(readString(in)));
+            case TAG_STRING:
+                return new JsonPrimitive(readString(in));
+            case TAG_ARRAY:
+                int length = in.readInt();
+                JsonArray array = new JsonArray(length);
+                for (int i = 0; i < length; i++) {
+                    array.add(readValue(in, in.readUnsignedByte()));
+                }
+                return array;
+            case TAG_OBJECT:
+                int size = in.readInt();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String name = readString(in);
+                    object.add(name, readValue(in, in.readUnsignedByte()));
+                }
+                return object;
+            default:
+                throw new IOException("Unknown claim tag " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
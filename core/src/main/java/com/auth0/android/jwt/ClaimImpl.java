@@ -0,0 +1,211 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonSyntaxException;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * The ClaimImpl class implements the Claim interface.
+ * The results of {@link #asList(Class)} are memoized per element class when nobody can change them: lists are
+ * unmodifiable, so they're memoized when their elements are immutable, i.e. strings and boxed primitives. Objects are
+ * bound again on every call, as the bound maps, collections and POJOs can be changed by the caller, and strings and
+ * boxed primitives are as cheap to read again as to look up. Arrays are never memoized, since every caller needs its
+ * own copy anyway.
+ */
+class ClaimImpl extends BaseClaim {
+
+    private static final AtomicReferenceFieldUpdater<ClaimImpl, Memo> MEMO =
+            AtomicReferenceFieldUpdater.newUpdater(ClaimImpl.class, Memo.class, "memo");
+
+    final JsonElement value;
+
+    /**
+     * Head of an immutable list of the lists converted so far. Claims are usually converted to a single type, so a
+     * linear scan is cheaper than a map.
+     */
+    private volatile Memo memo;
+
+    ClaimImpl(@NonNull JsonElement value) {
+        this.value = value;
+    }
+
+    @Override
+    @Nullable
+    public Boolean asBoolean() {
+        if (!value.isJsonPrimitive()) {
+            return null;
+        }
+        return value.getAsBoolean();
+    }
+
+    @Override
+    @Nullable
+    public Integer asInt() {
+        if (!value.isJsonPrimitive()) {
+            return null;
+        }
+        return value.getAsInt();
+    }
+
+    @Override
+    @Nullable
+    public Long asLong() {
+        if (!value.isJsonPrimitive()) {
+            return null;
+        }
+        return value.getAsLong();
+    }
+
+    @Override
+    @Nullable
+    public Double asDouble() {
+        if (!value.isJsonPrimitive()) {
+            return null;
+        }
+        return value.getAsDouble();
+    }
+
+    @Override
+    @Nullable
+    public String asString() {
+        if (!value.isJsonPrimitive()) {
+            return null;
+        }
+        return value.getAsString();
+    }
+
+    @Override
+    @Nullable
+    public Date asDate() {
+        if (!value.isJsonPrimitive()) {
+            return null;
+        }
+        long ms = JWTPayload.toMillis(Long.parseLong(value.getAsString()));
+        return new Date(ms);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] asArray(Class<T> tClazz) throws DecodeException {
+        try {
+            if (!value.isJsonArray() || value.isJsonNull()) {
+                return (T[]) Array.newInstance(tClazz, 0);
+            }
+            JsonArray jsonArr = value.getAsJsonArray();
+            T[] arr = (T[]) Array.newInstance(tClazz, jsonArr.size());
+            ClaimBinder<T> binder = ClaimBinder.find(tClazz);
+            for (int i = 0; i < jsonArr.size(); i++) {
+                arr[i] = bind(jsonArr.get(i), tClazz, binder);
+            }
+            return arr;
+        } catch (IOException | JsonSyntaxException e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_CLAIM, "Failed to decode claim as array", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> asList(Class<T> tClazz) throws DecodeException {
+        Object cached = recall(tClazz);
+        if (cached != null) {
+            return (List<T>) cached;
+        }
+        try {
+            if (!value.isJsonArray() || value.isJsonNull()) {
+                return Collections.emptyList();
+            }
+            JsonArray jsonArr = value.getAsJsonArray();
+            List<T> list = new ArrayList<>();
+            ClaimBinder<T> binder = ClaimBinder.find(tClazz);
+            for (int i = 0; i < jsonArr.size(); i++) {
+                list.add(bind(jsonArr.get(i), tClazz, binder));
+            }
+            List<T> result = Collections.unmodifiableList(list);
+            return isImmutable(tClazz) ? (List<T>) memoize(tClazz, result) : result;
+        } catch (IOException | JsonSyntaxException e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_CLAIM, "Failed to decode claim as list", e);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T asObject(Class<T> tClazz) throws DecodeException {
+        try {
+            if (value.isJsonNull()) {
+                return null;
+            }
+            return bind(value, tClazz, ClaimBinder.find(tClazz));
+        } catch (IOException | JsonSyntaxException e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_CLAIM, "Failed to decode claim as " + tClazz.getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Converts a value with the generated binder of the type when there is one, or with Gson otherwise.
+     */
+    @Nullable
+    private static <T> T bind(JsonElement value, Class<T> type, @Nullable ClaimBinder<T> binder) throws IOException {
+        if (binder == null) {
+            return GsonJsonCodec.GSON.fromJson(value, type);
+        }
+        return value.isJsonNull() ? null : binder.bind(new ClaimReader(value));
+    }
+
+    /**
+     * Whether the values of the given type can't be changed once bound, so a single instance can be shared.
+     */
+    private static boolean isImmutable(Class<?> type) {
+        return type == String.class || type == Boolean.class || type == Integer.class || type == Long.class
+                || type == Double.class || type == Float.class || type == Short.class || type == Byte.class
+                || type == Character.class;
+    }
+
+    @Nullable
+    private Object recall(Class<?> type) {
+        for (Memo m = memo; m != null; m = m.next) {
+            if (m.type == type) {
+                return m.result;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Publishes a conversion result. When another thread memoized the same conversion first, its result wins so that
+     * every caller observes the same instance.
+     */
+    private Object memoize(Class<?> type, Object result) {
+        while (true) {
+            Memo head = memo;
+            for (Memo m = head; m != null; m = m.next) {
+                if (m.type == type) {
+                    return m.result;
+                }
+            }
+            if (MEMO.compareAndSet(this, head, new Memo(type, result, head))) {
+                return result;
+            }
+        }
+    }
+
+    private static final class Memo {
+        final Class<?> type;
+        final Object result;
+        final Memo next;
+
+        Memo(Class<?> type, Object result, Memo next) {
+            this.type = type;
+            this.result = result;
+            this.next = next;
+        }
+    }
+}
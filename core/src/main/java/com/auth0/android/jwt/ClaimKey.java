@@ -0,0 +1,233 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The ClaimKey class is a typed accessor for a claim, to be passed to {@link DecodedJWT#get(ClaimKey)}. It bundles
+ * the name of the claim with the conversion of its value, so reading it returns the converted value straight away:
+ * no Claim is created for numbers, booleans and strings, and the lists of them converted from a claim are
+ * memoized by it. Keys are immutable and can be shared across threads, so declare them once as constants, e.g.
+ * <pre>{@code
+ * static final ClaimKey<List<String>> ROLES = ClaimKey.stringList("roles");
+ * }</pre>
+ *
+ * @param <T> the type of the converted value.
+ */
+public abstract class ClaimKey<T> {
+
+    private final String name;
+    //Where the claim was found last time. A stale value written by another thread only costs a regular lookup.
+    private int hint;
+
+    ClaimKey(String name) {
+        this.name = name;
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asBoolean()}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<Boolean> booleanValue(@NonNull String name) {
+        return new ClaimKey<Boolean>(name) {
+            @Override
+            Boolean convert(ClaimStore claims, int index) {
+                return claims.booleanAt(index);
+            }
+        };
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asInt()}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<Integer> intValue(@NonNull String name) {
+        return new ClaimKey<Integer>(name) {
+            @Override
+            Integer convert(ClaimStore claims, int index) {
+                return claims.intAt(index);
+            }
+        };
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asLong()}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<Long> longValue(@NonNull String name) {
+        return new ClaimKey<Long>(name) {
+            @Override
+            Long convert(ClaimStore claims, int index) {
+                return claims.longAt(index);
+            }
+        };
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asDouble()}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<Double> doubleValue(@NonNull String name) {
+        return new ClaimKey<Double>(name) {
+            @Override
+            Double convert(ClaimStore claims, int index) {
+                return claims.doubleAt(index);
+            }
+        };
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asString()}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<String> string(@NonNull String name) {
+        return new ClaimKey<String>(name) {
+            @Override
+            String convert(ClaimStore claims, int index) {
+                return claims.stringAt(index);
+            }
+        };
+    }
+
+    /**
+     * A key that reads a NumericDate claim, e.g. "auth_time", as the number of seconds since the epoch. Unlike
+     * {@link #date(String)}, no Date is created.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<Long> epochSeconds(@NonNull String name) {
+        return longValue(name);
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asDate()}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<Date> date(@NonNull String name) {
+        return new ClaimKey<Date>(name) {
+            @Override
+            Date convert(ClaimStore claims, int index) {
+                return claims.dateAt(index);
+            }
+        };
+    }
+
+    /**
+     * A key that reads the claim like {@code asList(String.class)}.
+     *
+     * @param name the name of the claim.
+     * @return the key.
+     */
+    @NonNull
+    public static ClaimKey<List<String>> stringList(@NonNull String name) {
+        return list(name, String.class);
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asList(Class)}. When the claim is missing, the empty list is
+     * returned.
+     *
+     * @param name the name of the claim.
+     * @param type the class of the elements.
+     * @param <E>  the type of the elements.
+     * @return the key.
+     */
+    @NonNull
+    public static <E> ClaimKey<List<E>> list(@NonNull String name, @NonNull final Class<E> type) {
+        return new ClaimKey<List<E>>(name) {
+            @Override
+            List<E> convert(ClaimStore claims, int index) {
+                return claims.listAt(index, type);
+            }
+
+            @Override
+            List<E> missing() {
+                return Collections.emptyList();
+            }
+        };
+    }
+
+    /**
+     * A key that reads the claim like {@link Claim#asObject(Class)}.
+     *
+     * @param name the name of the claim.
+     * @param type the class of the value.
+     * @param <V>  the type of the value.
+     * @return the key.
+     */
+    @NonNull
+    public static <V> ClaimKey<V> object(@NonNull String name, @NonNull final Class<V> type) {
+        return new ClaimKey<V>(name) {
+            @Override
+            V convert(ClaimStore claims, int index) {
+                return claims.objectAt(index, type);
+            }
+        };
+    }
+
+    /**
+     * Get the name of the claim read by this key.
+     *
+     * @return the claim name.
+     */
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Reads the claim of this key from the claims of a payload.
+     *
+     * @param claims the claims of the payload.
+     * @return the converted value, or the value for a missing claim.
+     */
+    @Nullable
+    T get(ClaimStore claims) {
+        int index = claims.indexOf(name, hint);
+        if (index < 0) {
+            return missing();
+        }
+        hint = index;
+        return convert(claims, index);
+    }
+
+    @Nullable
+    abstract T convert(ClaimStore claims, int index);
+
+    /**
+     * Get the value returned when the claim is missing.
+     */
+    @Nullable
+    T missing() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
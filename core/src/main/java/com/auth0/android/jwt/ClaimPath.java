@@ -0,0 +1,254 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The ClaimPath class is a compiled path to a value nested inside a claim, e.g. the tier of the plan inside the
+ * "https://example.com/app_metadata" object. Pass it to {@link DecodedJWT#getClaim(ClaimPath)} to get the value
+ * without binding the claim to a Map or a POJO: only the objects and arrays along the path are visited. When the
+ * decoder parses the private claims lazily, the path is followed over the raw payload text and only the value at
+ * its end is parsed. Instances are immutable, so compile each path once and reuse it.
+ */
+public final class ClaimPath {
+
+    private final String expression;
+    private final String[] names;
+    //The array index each name stands for, or -1 when it's not a valid index
+    private final int[] indexes;
+
+    private ClaimPath(String expression, String[] names) {
+        this.expression = expression;
+        this.names = names;
+        this.indexes = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indexes[i] = toIndex(names[i]);
+        }
+    }
+
+    /**
+     * Compile a path expression. An expression that starts with a '/' is read as a JSON Pointer (RFC 6901), e.g.
+     * {@code "/https:~1~1example.com~1app_metadata/plan/tier"}, where '~1' stands for '/' and '~0' for '~'. Any
+     * other expression is split on its dots, e.g. {@code "address.street"}. In both forms a number selects the
+     * element at that index when the value is an array.
+     *
+     * @param expression the path expression.
+     * @return the compiled path.
+     * @throws IllegalArgumentException if the expression is empty or malformed.
+     */
+    @NonNull
+    public static ClaimPath compile(@NonNull String expression) {
+        List<String> names = new ArrayList<>();
+        if (expression.startsWith("/")) {
+            int start = 1;
+            while (true) {
+                int end = expression.indexOf('/', start);
+                names.add(unescape(expression, start, end == -1 ? expression.length() : end));
+                if (end == -1) {
+                    break;
+                }
+                start = end + 1;
+            }
+        } else {
+            int start = 0;
+            while (true) {
+                int end = expression.indexOf('.', start);
+                String name = expression.substring(start, end == -1 ? expression.length() : end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException(String.format("The claim path '%s' has an empty segment.", expression));
+                }
+                names.add(name);
+                if (end == -1) {
+                    break;
+                }
+                start = end + 1;
+            }
+        }
+        return new ClaimPath(expression, names.toArray(new String[0]));
+    }
+
+    /**
+     * Create a path from the names to follow, e.g. {@code ClaimPath.of("https://example.com/app_metadata", "plan",
+     * "tier")}. The names are used as they are, so they may contain dots and slashes.
+     *
+     * @param first the name of the claim.
+     * @param names the names of the nested values to follow.
+     * @return the compiled path.
+     */
+    @NonNull
+    public static ClaimPath of(@NonNull String first, @NonNull String... names) {
+        String[] all = new String[names.length + 1];
+        all[0] = first;
+        System.arraycopy(names, 0, all, 1, names.length);
+        StringBuilder expression = new StringBuilder();
+        for (String name : all) {
+            expression.append('/').append(name.replace("~", "~0").replace("/", "~1"));
+        }
+        return new ClaimPath(expression.toString(), all);
+    }
+
+    /**
+     * Get the name of the claim this path starts at.
+     */
+    String claimName() {
+        return names[0];
+    }
+
+    /**
+     * Follows this path from the claims of a payload.
+     *
+     * @param claims the claims of the payload.
+     * @return the Claim at the end of the path, or a BaseClaim if there is no value there.
+     */
+    Claim resolve(ClaimStore claims) {
+        Claim claim = claims.get(names[0]);
+        if (claim == null) {
+            return BaseClaim.MISSING;
+        }
+        if (names.length == 1) {
+            return claim;
+        }
+        if (claim instanceof LazyClaim) {
+            return ((LazyClaim) claim).select(this);
+        }
+        if (claim instanceof ClaimImpl) {
+            return select(((ClaimImpl) claim).value);
+        }
+        return BaseClaim.MISSING;
+    }
+
+    /**
+     * Follows this path, after the claim name, through a parsed value.
+     */
+    Claim select(JsonElement value) {
+        for (int i = 1; i < names.length; i++) {
+            if (value.isJsonObject()) {
+                value = value.getAsJsonObject().get(names[i]);
+                if (value == null) {
+                    return BaseClaim.MISSING;
+                }
+            } else if (value.isJsonArray() && indexes[i] != -1 && indexes[i] < ((JsonArray) value).size()) {
+                value = ((JsonArray) value).get(indexes[i]);
+            } else {
+                return BaseClaim.MISSING;
+            }
+        }
+        return new ClaimImpl(value);
+    }
+
+    /**
+     * Follows this path, after the claim name, through the JSON text of a value. Every value off the path is skipped
+     * without being parsed, and only the value at the end is parsed.
+     */
+    Claim select(char[] json, int offset, int length) throws IOException {
+        int start = offset;
+        int end = offset + length;
+        for (int i = 1; i < names.length; i++) {
+            JsonScanner scanner = new JsonScanner(json, start, end - start);
+            int found = -1;
+            int foundEnd = -1;
+            char c = scanner.peek();
+            if (c == '{') {
+                scanner.beginObject();
+                while (scanner.hasNextMember()) {
+                    boolean matches = scanner.nextName().equals(names[i]);
+                    int valueStart = scanner.position();
+                    scanner.skipValue();
+                    //The last member with a repeated name wins, as in the parsed tree
+                    if (matches) {
+                        found = valueStart;
+                        foundEnd = scanner.position();
+                    }
+                }
+            } else if (c == '[' && indexes[i] != -1) {
+                scanner.beginArray();
+                for (int index = 0; scanner.hasNextElement(); index++) {
+                    int valueStart = scanner.position();
+                    scanner.skipValue();
+                    if (index == indexes[i]) {
+                        found = valueStart;
+                        foundEnd = scanner.position();
+                        break;
+                    }
+                }
+            }
+            if (found == -1) {
+                return BaseClaim.MISSING;
+            }
+            start = found;
+            end = foundEnd;
+        }
+        return new ClaimImpl(new JsonScanner(json, start, end - start).parseDocument());
+    }
+
+    private static String unescape(String expression, int start, int end) {
+        int tilde = expression.indexOf('~', start);
+        if (tilde == -1 || tilde >= end) {
+            return expression.substring(start, end);
+        }
+        StringBuilder name = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = expression.charAt(i);
+            if (c != '~') {
+                name.append(c);
+                continue;
+            }
+            char escaped = i + 1 < end ? expression.charAt(++i) : 0;
+            if (escaped == '0') {
+                name.append('~');
+            } else if (escaped == '1') {
+                name.append('/');
+            } else {
+                throw new IllegalArgumentException(String.format("The claim path '%s' has an invalid escape sequence.", expression));
+            }
+        }
+        return name.toString();
+    }
+
+    private static int toIndex(String name) {
+        //Indexes have no leading zeros and fit in an int
+        if (name.isEmpty() || name.length() > 9 || (name.charAt(0) == '0' && name.length() > 1)) {
+            return -1;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        return Integer.parseInt(name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClaimPath)) {
+            return false;
+        }
+        return Arrays.equals(names, ((ClaimPath) o).names);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(names);
+    }
+
+    /**
+     * Returns the expression this path was compiled from.
+     *
+     * @return the path expression.
+     */
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,263 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ClaimReader class reads the value of a claim one token at a time, in the style of a streaming JSON reader.
+ * It's used by the {@link ClaimBinder} classes generated for {@link JwtClaims} types.
+ */
+public final class ClaimReader {
+
+    /**
+     * The value to read next, or null when the next value is the next element of the current array.
+     */
+    private JsonElement peeked;
+    private final List<Iterator<?>> stack = new ArrayList<>();
+    private final List<Boolean> objects = new ArrayList<>();
+
+    ClaimReader(@NonNull JsonElement value) {
+        this.peeked = value;
+    }
+
+    /**
+     * Consumes the start of an object.
+     *
+     * @throws IOException if the next value isn't an object.
+     */
+    public void beginObject() throws IOException {
+        JsonElement value = nextValue();
+        if (!value.isJsonObject()) {
+            throw unexpected("an object", value);
+        }
+        push(((JsonObject) value).entrySet().iterator(), true);
+    }
+
+    /**
+     * Consumes the end of the current object.
+     *
+     * @throws IOException if the current value isn't an object or it has members left.
+     */
+    public void endObject() throws IOException {
+        pop(true);
+    }
+
+    /**
+     * Consumes the start of an array.
+     *
+     * @throws IOException if the next value isn't an array.
+     */
+    public void beginArray() throws IOException {
+        JsonElement value = nextValue();
+        if (!value.isJsonArray()) {
+            throw unexpected("an array", value);
+        }
+        push(((JsonArray) value).iterator(), false);
+    }
+
+    /**
+     * Consumes the end of the current array.
+     *
+     * @throws IOException if the current value isn't an array or it has elements left.
+     */
+    public void endArray() throws IOException {
+        pop(false);
+    }
+
+    /**
+     * Get whether the current object or array has more members or elements.
+     *
+     * @return whether there are more members or elements.
+     */
+    public boolean hasNext() {
+        return peeked != null || !stack.isEmpty() && stack.get(stack.size() - 1).hasNext();
+    }
+
+    /**
+     * Consumes the name of the next member of the current object.
+     *
+     * @return the name of the member.
+     * @throws IOException if the current value isn't an object or it has no members left.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    public String nextName() throws IOException {
+        if (peeked != null || stack.isEmpty() || !objects.get(objects.size() - 1)) {
+            throw new IOException("Expected a name");
+        }
+        Iterator<Map.Entry<String, JsonElement>> members = (Iterator<Map.Entry<String, JsonElement>>) stack.get(stack.size() - 1);
+        if (!members.hasNext()) {
+            throw new IOException("Expected a name");
+        }
+        Map.Entry<String, JsonElement> member = members.next();
+        peeked = member.getValue();
+        return member.getKey();
+    }
+
+    /**
+     * Get whether the next value is null, without consuming it.
+     *
+     * @return whether the next value is null.
+     * @throws IOException if there is no next value.
+     */
+    public boolean isNull() throws IOException {
+        return peek().isJsonNull();
+    }
+
+    /**
+     * Consumes the next value as a String. Numbers and booleans are converted to their text.
+     *
+     * @return the value.
+     * @throws IOException if the next value isn't a primitive.
+     */
+    @NonNull
+    public String nextString() throws IOException {
+        return nextPrimitive("a string").getAsString();
+    }
+
+    /**
+     * Consumes the next value as a boolean. The strings "true" and "false" are converted too.
+     *
+     * @return the value.
+     * @throws IOException if the next value isn't a boolean.
+     */
+    public boolean nextBoolean() throws IOException {
+        JsonPrimitive value = nextPrimitive("a boolean");
+        if (value.isBoolean()) {
+            return value.getAsBoolean();
+        }
+        if (value.isString()) {
+            return Boolean.parseBoolean(value.getAsString());
+        }
+        throw unexpected("a boolean", value);
+    }
+
+    /**
+     * Consumes the next value as an int. Strings are parsed.
+     *
+     * @return the value.
+     * @throws IOException if the next value isn't a number.
+     */
+    public int nextInt() throws IOException {
+        JsonPrimitive value = nextNumber("an int");
+        try {
+            return value.getAsInt();
+        } catch (NumberFormatException e) {
+            throw unexpected("an int", value);
+        }
+    }
+
+    /**
+     * Consumes the next value as a long. Strings are parsed.
+     *
+     * @return the value.
+     * @throws IOException if the next value isn't a number.
+     */
+    public long nextLong() throws IOException {
+        JsonPrimitive value = nextNumber("a long");
+        try {
+            return value.getAsLong();
+        } catch (NumberFormatException e) {
+            throw unexpected("a long", value);
+        }
+    }
+
+    /**
+     * Consumes the next value as a float. Strings are parsed.
+     *
+     * @return the value.
+     * @throws IOException if the next value isn't a number.
+     */
+    public float nextFloat() throws IOException {
+        JsonPrimitive value = nextNumber("a float");
+        try {
+            return value.getAsFloat();
+        } catch (NumberFormatException e) {
+            throw unexpected("a float", value);
+        }
+    }
+
+    /**
+     * Consumes the next value as a double. Strings are parsed.
+     *
+     * @return the value.
+     * @throws IOException if the next value isn't a number.
+     */
+    public double nextDouble() throws IOException {
+        JsonPrimitive value = nextNumber("a double");
+        try {
+            return value.getAsDouble();
+        } catch (NumberFormatException e) {
+            throw unexpected("a double", value);
+        }
+    }
+
+    /**
+     * Consumes the next value, whatever its type.
+     *
+     * @throws IOException if there is no next value.
+     */
+    public void skipValue() throws IOException {
+        nextValue();
+    }
+
+    private JsonElement peek() throws IOException {
+        if (peeked == null) {
+            if (stack.isEmpty() || objects.get(objects.size() - 1) || !stack.get(stack.size() - 1).hasNext()) {
+                throw new IOException("Expected a value");
+            }
+            peeked = (JsonElement) stack.get(stack.size() - 1).next();
+        }
+        return peeked;
+    }
+
+    private JsonElement nextValue() throws IOException {
+        JsonElement value = peek();
+        peeked = null;
+        return value;
+    }
+
+    private JsonPrimitive nextPrimitive(String expected) throws IOException {
+        JsonElement value = nextValue();
+        if (!value.isJsonPrimitive()) {
+            throw unexpected(expected, value);
+        }
+        return (JsonPrimitive) value;
+    }
+
+    private JsonPrimitive nextNumber(String expected) throws IOException {
+        JsonPrimitive value = nextPrimitive(expected);
+        if (value.isBoolean()) {
+            throw unexpected(expected, value);
+        }
+        return value;
+    }
+
+    private void push(Iterator<?> iterator, boolean object) {
+        stack.add(iterator);
+        objects.add(object);
+    }
+
+    private void pop(boolean object) throws IOException {
+        int top = stack.size() - 1;
+        if (peeked != null || top < 0 || objects.get(top) != object || stack.get(top).hasNext()) {
+            throw new IOException(object ? "Expected the end of an object" : "Expected the end of an array");
+        }
+        stack.remove(top);
+        objects.remove(top);
+    }
+
+    private static IOException unexpected(String expected, JsonElement value) {
+        return new IOException("Expected " + expected + " but was " + value);
+    }
+}
@@ -0,0 +1,414 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The ClaimStore class is the immutable Map that holds the claims of a payload. The names are kept in a sorted array
+ * and the values in parallel arrays. Nulls, booleans, strings and numbers are stored without any JSON wrapper,
+ * integral numbers unboxed, and their Claim is created when requested. Arrays, objects and lazy claims keep a single
+ * Claim, so the immutable conversions memoized by it are shared by every caller.
+ */
+final class ClaimStore extends AbstractMap<String, Claim> {
+
+    private static final byte KIND_NULL = 0;
+    private static final byte KIND_TRUE = 1;
+    private static final byte KIND_FALSE = 2;
+    private static final byte KIND_LONG = 3;
+    private static final byte KIND_NUMBER = 4;
+    private static final byte KIND_STRING = 5;
+    private static final byte KIND_CLAIM = 6;
+
+    private static final JsonPrimitive TRUE = new JsonPrimitive(Boolean.TRUE);
+    private static final JsonPrimitive FALSE = new JsonPrimitive(Boolean.FALSE);
+
+    static final ClaimStore EMPTY = new ClaimStore(new String[0], new byte[0], null, new Object[0]);
+
+    private final String[] names;
+    private final byte[] kinds;
+    //Only allocated when at least one value is an integral number
+    private final long[] longs;
+    private final Object[] values;
+
+    private ClaimStore(String[] names, byte[] kinds, long[] longs, Object[] values) {
+        this.names = names;
+        this.kinds = kinds;
+        this.longs = longs;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return name instanceof String && Arrays.binarySearch(names, name) >= 0;
+    }
+
+    @Nullable
+    @Override
+    public Claim get(Object name) {
+        if (!(name instanceof String)) {
+            return null;
+        }
+        int index = Arrays.binarySearch(names, name);
+        return index < 0 ? null : claimAt(index);
+    }
+
+    @Override
+    public Set<Entry<String, Claim>> entrySet() {
+        return new AbstractSet<Entry<String, Claim>>() {
+            @Override
+            public Iterator<Entry<String, Claim>> iterator() {
+                return new Iterator<Entry<String, Claim>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Claim> next() {
+                        if (next == names.length) {
+                            throw new NoSuchElementException();
+                        }
+                        int index = next++;
+                        return new SimpleImmutableEntry<>(names[index], claimAt(index));
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    /**
+     * Creates a store with the claims of this one and the given ones, keeping every value as compact as it is.
+     *
+     * @param other the claims to add, none of them named like one of this store.
+     * @return the store with both sets of claims.
+     */
+    ClaimStore plus(ClaimStore other) {
+        if (other.names.length == 0) {
+            return this;
+        }
+        int count = names.length + other.names.length;
+        String[] mergedNames = new String[count];
+        byte[] mergedKinds = new byte[count];
+        long[] mergedLongs = longs == null && other.longs == null ? null : new long[count];
+        Object[] mergedValues = new Object[count];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < count; k++) {
+            ClaimStore from = j == other.names.length || i < names.length && names[i].compareTo(other.names[j]) < 0 ? this : other;
+            int index = from == this ? i++ : j++;
+            mergedNames[k] = from.names[index];
+            mergedKinds[k] = from.kinds[index];
+            mergedValues[k] = from.values[index];
+            if (from.kinds[index] == KIND_LONG) {
+                mergedLongs[k] = from.longs[index];
+            }
+        }
+        return new ClaimStore(mergedNames, mergedKinds, mergedLongs, mergedValues);
+    }
+
+    /**
+     * Checks whether both stores hold the same claims with the same JSON text, however each of them keeps the values.
+     * Lazy claims are parsed to be compared.
+     *
+     * @param other the claims to compare with.
+     * @return whether the claims are the same.
+     */
+    boolean hasSameValues(ClaimStore other) {
+        if (!Arrays.equals(names, other.names)) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            //The text tells numbers apart that are only equal once parsed, like 1 and 1.0
+            if (!jsonAt(i).toString().equals(other.jsonAt(i).toString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonElement jsonAt(int index) {
+        return jsonOf(claimAt(index));
+    }
+
+    /**
+     * Get the tree of a Claim held by a ClaimStore.
+     */
+    static JsonElement jsonOf(Claim claim) {
+        if (claim instanceof LazyClaim) {
+            return ((LazyClaim) claim).claim().value;
+        }
+        return claim instanceof ClaimImpl ? ((ClaimImpl) claim).value : JsonNull.INSTANCE;
+    }
+
+    /**
+     * Finds the index of a claim, checking the given index first. Tokens of the same issuer usually have the same
+     * claims, so the index found in the previous token is likely to be the right one.
+     *
+     * @param name the name of the claim.
+     * @param hint the index to check first.
+     * @return the index of the claim, or a negative value if it's missing.
+     */
+    int indexOf(String name, int hint) {
+        if (hint < names.length && names[hint].equals(name)) {
+            return hint;
+        }
+        return Arrays.binarySearch(names, name);
+    }
+
+    // The typed reads below return the same values as the matching method of the Claim at the given index, but
+    // read the stored value directly instead of creating the Claim when they can.
+
+    @Nullable
+    Boolean booleanAt(int index) {
+        switch (kinds[index]) {
+            case KIND_TRUE:
+                return Boolean.TRUE;
+            case KIND_FALSE:
+                return Boolean.FALSE;
+            default:
+                return claimAt(index).asBoolean();
+        }
+    }
+
+    @Nullable
+    Integer intAt(int index) {
+        return kinds[index] == KIND_LONG ? Integer.valueOf((int) longs[index]) : claimAt(index).asInt();
+    }
+
+    @Nullable
+    Long longAt(int index) {
+        return kinds[index] == KIND_LONG ? Long.valueOf(longs[index]) : claimAt(index).asLong();
+    }
+
+    @Nullable
+    Double doubleAt(int index) {
+        return kinds[index] == KIND_LONG ? Double.valueOf(longs[index]) : claimAt(index).asDouble();
+    }
+
+    @Nullable
+    String stringAt(int index) {
+        return kinds[index] == KIND_STRING ? (String) values[index] : claimAt(index).asString();
+    }
+
+    @Nullable
+    Date dateAt(int index) {
+        return kinds[index] == KIND_LONG ? new Date(JWTPayload.toMillis(longs[index])) : claimAt(index).asDate();
+    }
+
+    <T> List<T> listAt(int index, Class<T> type) {
+        //Only arrays are converted to a List, and their Claim memoizes the result
+        return kinds[index] == KIND_CLAIM ? ((Claim) values[index]).asList(type) : Collections.<T>emptyList();
+    }
+
+    @Nullable
+    <T> T objectAt(int index, Class<T> type) {
+        return claimAt(index).asObject(type);
+    }
+
+    Claim claimAt(int index) {
+        switch (kinds[index]) {
+            case KIND_NULL:
+                return new ClaimImpl(JsonNull.INSTANCE);
+            case KIND_TRUE:
+                return new ClaimImpl(TRUE);
+            case KIND_FALSE:
+                return new ClaimImpl(FALSE);
+            case KIND_LONG:
+                return new ClaimImpl(new JsonPrimitive(new JsonNumber(Long.toString(longs[index]))));
+            case KIND_NUMBER:
+                return new ClaimImpl(new JsonPrimitive((Number) values[index]));
+            case KIND_STRING:
+                return new ClaimImpl(new JsonPrimitive((String) values[index]));
+            default:
+                return (Claim) values[index];
+        }
+    }
+
+    /**
+     * Checks whether the given text is an integral number that prints back to the exact same text once parsed, so it
+     * can be stored as a long without changing what {@link Claim#asString()} returns.
+     */
+    static boolean isCanonicalLong(String text) {
+        int start = text.startsWith("-") ? 1 : 0;
+        int length = text.length() - start;
+        //Up to 18 digits always fit in a long
+        if (length == 0 || length > 18 || (text.charAt(start) == '0' && (length > 1 || start == 1))) {
+            return false;
+        }
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builder class used to collect the claims of a payload. When a name is added more than once, the last value wins.
+     */
+    static class Builder {
+
+        private final StringPool pool;
+        private String[] names = new String[8];
+        //JsonElement values still to be compacted, Claim values kept as they are, or the primitives read directly:
+        //null, a Boolean, a String or the JsonNumber holding the text of a number
+        private Object[] values = new Object[8];
+        private int size;
+
+        Builder() {
+            this(StringPool.NONE);
+        }
+
+        /**
+         * @param pool the pool used to share the names and the string values.
+         */
+        Builder(StringPool pool) {
+            this.pool = pool;
+        }
+
+        Builder add(String name, JsonElement value) {
+            return put(name, value);
+        }
+
+        Builder add(String name, Claim claim) {
+            return put(name, claim);
+        }
+
+        Builder add(String name, String value) {
+            return put(name, value);
+        }
+
+        Builder add(String name, boolean value) {
+            return put(name, value);
+        }
+
+        /**
+         * @param text the text of the number, as it appears in the JSON.
+         */
+        Builder addNumber(String name, String text) {
+            return put(name, new JsonNumber(text));
+        }
+
+        Builder addNull(String name) {
+            return put(name, null);
+        }
+
+        private Builder put(String name, Object value) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            names[size] = pool.intern(name);
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        ClaimStore build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            //The sort is stable, so duplicated names keep the order in which they were added
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer a, Integer b) {
+                    return names[a].compareTo(names[b]);
+                }
+            });
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (i + 1 == size || !names[order[i]].equals(names[order[i + 1]])) {
+                    order[count++] = order[i];
+                }
+            }
+
+            String[] sortedNames = new String[count];
+            byte[] kinds = new byte[count];
+            long[] longs = null;
+            Object[] sortedValues = new Object[count];
+            for (int i = 0; i < count; i++) {
+                sortedNames[i] = names[order[i]];
+                Object value = values[order[i]];
+                if (value instanceof JsonElement) {
+                    value = unwrap((JsonElement) value);
+                }
+                if (value == null) {
+                    kinds[i] = KIND_NULL;
+                } else if (value instanceof Claim) {
+                    kinds[i] = KIND_CLAIM;
+                    sortedValues[i] = value;
+                } else if (value instanceof Boolean) {
+                    kinds[i] = (Boolean) value ? KIND_TRUE : KIND_FALSE;
+                } else if (value instanceof String) {
+                    kinds[i] = KIND_STRING;
+                    sortedValues[i] = pool.intern((String) value);
+                } else if (isCanonicalLong(value.toString())) {
+                    if (longs == null) {
+                        longs = new long[count];
+                    }
+                    kinds[i] = KIND_LONG;
+                    longs[i] = Long.parseLong(value.toString());
+                } else {
+                    kinds[i] = KIND_NUMBER;
+                    sortedValues[i] = value;
+                }
+            }
+            return new ClaimStore(sortedNames, kinds, longs, sortedValues);
+        }
+
+        /**
+         * Get the value of a tree in the form it's added to the builder in: null, a Boolean, a String or a Number for
+         * the primitives, and a Claim for arrays and objects.
+         */
+        @Nullable
+        private static Object unwrap(JsonElement element) {
+            if (element.isJsonNull()) {
+                return null;
+            }
+            if (!element.isJsonPrimitive()) {
+                return new ClaimImpl(element);
+            }
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                return primitive.getAsBoolean();
+            }
+            return primitive.isString() ? primitive.getAsString() : primitive.getAsNumber();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.auth0.android.jwt;
+
+/**
+ * The Clock interface provides the current time used to validate the time claims of a JWT. Provide your own
+ * implementation to make the validation deterministic, e.g. in tests.
+ */
+public interface Clock {
+
+    /**
+     * The Clock backed by {@link System#currentTimeMillis()}.
+     */
+    Clock SYSTEM = new Clock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * Get the current time.
+     *
+     * @return the current time as milliseconds since the epoch.
+     */
+    long currentTimeMillis();
+}
@@ -0,0 +1,25 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The DecodeCallback interface receives the outcome of an asynchronous decode started with
+ * {@link JWTDecoder#decodeAsync(String, java.util.concurrent.Executor, java.util.concurrent.Executor, DecodeCallback)}.
+ * Exactly one of its methods is called once per request.
+ */
+public interface DecodeCallback {
+
+    /**
+     * Called when the token was decoded.
+     *
+     * @param jwt the decoded JWT. On Android, it's a {@code JWT} instance.
+     */
+    void onSuccess(@NonNull DecodedJWT jwt);
+
+    /**
+     * Called when the token couldn't be decoded.
+     *
+     * @param error the reason why it couldn't be decoded.
+     */
+    void onFailure(@NonNull DecodeException error);
+}
@@ -0,0 +1,60 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+@SuppressWarnings("WeakerAccess")
+public class DecodeException extends RuntimeException {
+
+    /**
+     * The reason why a token or one of its claims couldn't be decoded.
+     */
+    public enum Reason {
+        /**
+         * The token doesn't have the expected number of parts.
+         */
+        MALFORMED_TOKEN,
+        /**
+         * A part of the token isn't valid Base64 URL-safe text.
+         */
+        INVALID_BASE64,
+        /**
+         * The header or the payload of the token isn't valid JSON.
+         */
+        INVALID_JSON,
+        /**
+         * The value of a claim can't be converted to the requested type.
+         */
+        INVALID_CLAIM,
+        /**
+         * The token is larger or more deeply nested than the limits configured in the {@link JWTDecoder}.
+         */
+        LIMIT_EXCEEDED,
+        /**
+         * Decoding failed with an unexpected exception, e.g. thrown by a custom {@link JsonCodec} or a
+         * {@link DecodeListener}. The exception is the cause.
+         */
+        UNEXPECTED_ERROR
+    }
+
+    private final Reason reason;
+
+    DecodeException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    DecodeException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    /**
+     * Get the reason why the decoding failed.
+     *
+     * @return the reason of this exception.
+     */
+    @NonNull
+    public Reason getReason() {
+        return reason;
+    }
+}
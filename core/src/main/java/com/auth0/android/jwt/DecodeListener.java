@@ -0,0 +1,81 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The DecodeListener class receives the measurements taken while a {@link JWTDecoder} decodes tokens. Register it
+ * with {@link JWTDecoder.Builder#listener(DecodeListener)}. Every method does nothing by default, so override only
+ * the ones you need. They are called synchronously on the thread that decodes the token, possibly by several
+ * threads at once, so implementations must be thread-safe and return quickly. See {@link DecodeMetrics} for a
+ * ready-made implementation.
+ */
+public abstract class DecodeListener {
+
+    /**
+     * The stages a token goes through while it's decoded.
+     */
+    public enum Stage {
+        /**
+         * Locating the parts of the token.
+         */
+        SPLIT,
+        /**
+         * Decoding the Base64 text of the Header and parsing its JSON.
+         */
+        HEADER,
+        /**
+         * Decoding the Base64 text of the payload, parsing its JSON and storing its claims.
+         */
+        PAYLOAD
+    }
+
+    /**
+     * Called once per stage of every decoded token, before {@link #onDecoded(int, int, int, int)}, and for the
+     * {@link Stage#HEADER} stage of every Header read by {@link JWTDecoder#peekHeader(CharSequence)}, before
+     * {@link #onHeaderPeeked(int)}.
+     *
+     * @param stage the stage that finished.
+     * @param nanos the time it took, in nanoseconds.
+     */
+    public void onStage(@NonNull Stage stage, long nanos) {
+    }
+
+    /**
+     * Called when a token was decoded.
+     *
+     * @param headerLength    the length of the Base64 text of the Header.
+     * @param payloadLength   the length of the Base64 text of the payload.
+     * @param signatureLength the length of the signature.
+     * @param claimCount      the number of claims kept from the payload.
+     */
+    public void onDecoded(int headerLength, int payloadLength, int signatureLength, int claimCount) {
+    }
+
+    /**
+     * Called when only the Header of a token was decoded by {@link JWTDecoder#peekHeader(CharSequence)}.
+     *
+     * @param headerLength the length of the Base64 text of the Header.
+     */
+    public void onHeaderPeeked(int headerLength) {
+    }
+
+    /**
+     * Called when a token, or the Header of a peeked one, couldn't be decoded.
+     *
+     * @param reason the reason of the failure.
+     */
+    public void onFailed(@NonNull DecodeException.Reason reason) {
+    }
+
+    /**
+     * Called when a {@link JWTCache} that uses the decoder returned an already decoded token.
+     */
+    public void onCacheHit() {
+    }
+
+    /**
+     * Called when a {@link JWTCache} that uses the decoder had to decode the token.
+     */
+    public void onCacheMiss() {
+    }
+}
@@ -0,0 +1,246 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The DecodeMetrics class is a {@link DecodeListener} that aggregates the measurements of every decode. It counts
+ * the decoded tokens, the peeked Headers, the failures by reason, the cache hits and misses and the sizes of the
+ * segments, and keeps a histogram of the time spent on each {@link DecodeListener.Stage} to report percentiles.
+ * Recording doesn't lock or allocate, so a single instance can be shared by every decoder.
+ */
+public final class DecodeMetrics extends DecodeListener {
+
+    private final Histogram[] stages = new Histogram[Stage.values().length];
+    private final AtomicLong decoded = new AtomicLong();
+    private final AtomicLong peeked = new AtomicLong();
+    private final AtomicLongArray failures = new AtomicLongArray(DecodeException.Reason.values().length);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong headerLength = new AtomicLong();
+    private final AtomicLong payloadLength = new AtomicLong();
+    private final AtomicLong signatureLength = new AtomicLong();
+    private final AtomicLong claims = new AtomicLong();
+
+    public DecodeMetrics() {
+        for (int i = 0; i < stages.length; i++) {
+            stages[i] = new Histogram();
+        }
+    }
+
+    @Override
+    public void onStage(@NonNull Stage stage, long nanos) {
+        stages[stage.ordinal()].record(nanos);
+    }
+
+    @Override
+    public void onDecoded(int headerLength, int payloadLength, int signatureLength, int claimCount) {
+        decoded.incrementAndGet();
+        this.headerLength.addAndGet(headerLength);
+        this.payloadLength.addAndGet(payloadLength);
+        this.signatureLength.addAndGet(signatureLength);
+        claims.addAndGet(claimCount);
+    }
+
+    @Override
+    public void onHeaderPeeked(int headerLength) {
+        peeked.incrementAndGet();
+    }
+
+    @Override
+    public void onFailed(@NonNull DecodeException.Reason reason) {
+        failures.incrementAndGet(reason.ordinal());
+    }
+
+    @Override
+    public void onCacheHit() {
+        cacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void onCacheMiss() {
+        cacheMisses.incrementAndGet();
+    }
+
+    /**
+     * Get the time below which the given percentage of the measurements of a stage fall. The value is accurate to
+     * within 6.25% of the actual measurement.
+     *
+     * @param stage      the stage to look up.
+     * @param percentile the percentage, between 0 and 100, e.g. 99 for the 99th percentile.
+     * @return the time in nanoseconds, or 0 if the stage wasn't measured yet.
+     */
+    public long getStagePercentileNanos(@NonNull Stage stage, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        }
+        return stages[stage.ordinal()].percentile(percentile);
+    }
+
+    /**
+     * Get the total time spent on a stage.
+     *
+     * @param stage the stage to look up.
+     * @return the total time in nanoseconds.
+     */
+    public long getStageTotalNanos(@NonNull Stage stage) {
+        return stages[stage.ordinal()].total.get();
+    }
+
+    /**
+     * Get the number of decoded tokens.
+     *
+     * @return the decoded count.
+     */
+    public long getDecodedCount() {
+        return decoded.get();
+    }
+
+    /**
+     * Get the number of Headers read by {@link JWTDecoder#peekHeader(CharSequence)}. They aren't included in the
+     * decoded count nor in the segment lengths.
+     *
+     * @return the peeked count.
+     */
+    public long getPeekedCount() {
+        return peeked.get();
+    }
+
+    /**
+     * Get the number of tokens that couldn't be decoded for the given reason.
+     *
+     * @param reason the reason of the failures.
+     * @return the failure count.
+     */
+    public long getFailureCount(@NonNull DecodeException.Reason reason) {
+        return failures.get(reason.ordinal());
+    }
+
+    /**
+     * Get the number of tokens that couldn't be decoded.
+     *
+     * @return the failure count.
+     */
+    public long getFailureCount() {
+        long count = 0;
+        for (int i = 0; i < failures.length(); i++) {
+            count += failures.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of times a {@link JWTCache} returned an already decoded token.
+     *
+     * @return the hit count.
+     */
+    public long getCacheHitCount() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Get the number of times a {@link JWTCache} had to decode the token.
+     *
+     * @return the miss count.
+     */
+    public long getCacheMissCount() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Get the total length of the Base64 text of the decoded Headers.
+     *
+     * @return the total length.
+     */
+    public long getHeaderLength() {
+        return headerLength.get();
+    }
+
+    /**
+     * Get the total length of the Base64 text of the decoded payloads.
+     *
+     * @return the total length.
+     */
+    public long getPayloadLength() {
+        return payloadLength.get();
+    }
+
+    /**
+     * Get the total length of the signatures of the decoded tokens.
+     *
+     * @return the total length.
+     */
+    public long getSignatureLength() {
+        return signatureLength.get();
+    }
+
+    /**
+     * Get the total number of claims kept from the decoded payloads.
+     *
+     * @return the total claim count.
+     */
+    public long getClaimCount() {
+        return claims.get();
+    }
+
+    /**
+     * Counts the measurements in buckets whose width grows with the value: 16 buckets for each power of two, so
+     * every bucket is at most 1/16 of its lower bound wide.
+     */
+    static final class Histogram {
+
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        //Measurements are capped to about 18 minutes
+        private static final long MAX_VALUE = (1L << 40) - 1;
+        private static final int BUCKETS = index(MAX_VALUE) + 1;
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong total = new AtomicLong();
+
+        void record(long value) {
+            long clamped = Math.max(0, Math.min(value, MAX_VALUE));
+            counts.incrementAndGet(index(clamped));
+            count.incrementAndGet();
+            total.addAndGet(clamped);
+        }
+
+        long percentile(double percentile) {
+            long measurements = count.get();
+            if (measurements == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(measurements * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return upperBound(i);
+                }
+            }
+            //Measurements recorded while iterating
+            return MAX_VALUE;
+        }
+
+        static int index(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        static long upperBound(int index) {
+            if (index < SUB_BUCKETS) {
+                return index;
+            }
+            int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = index % SUB_BUCKETS;
+            return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+}
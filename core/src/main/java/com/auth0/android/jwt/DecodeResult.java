@@ -0,0 +1,68 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The DecodeResult class holds the outcome of decoding a single token as part of a batch: either the decoded
+ * {@link DecodedJWT} or the {@link DecodeException} that explains why it couldn't be decoded.
+ */
+public final class DecodeResult {
+
+    private final String token;
+    private final DecodedJWT jwt;
+    private final DecodeException error;
+
+    private DecodeResult(String token, DecodedJWT jwt, DecodeException error) {
+        this.token = token;
+        this.jwt = jwt;
+        this.error = error;
+    }
+
+    static DecodeResult success(String token, DecodedJWT jwt) {
+        return new DecodeResult(token, jwt, null);
+    }
+
+    static DecodeResult failure(String token, DecodeException error) {
+        return new DecodeResult(token, null, error);
+    }
+
+    /**
+     * Get the string JWT token this result belongs to.
+     *
+     * @return the string JWT token.
+     */
+    @NonNull
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Whether the token was decoded successfully.
+     *
+     * @return true if the token was decoded, false otherwise.
+     */
+    public boolean isSuccess() {
+        return jwt != null;
+    }
+
+    /**
+     * Get the decoded JWT, or null if the token couldn't be decoded.
+     *
+     * @return the decoded JWT or null.
+     */
+    @Nullable
+    public DecodedJWT getJWT() {
+        return jwt;
+    }
+
+    /**
+     * Get the error that prevented the token from being decoded, or null if it was decoded successfully.
+     *
+     * @return the error or null.
+     */
+    @Nullable
+    public DecodeException getError() {
+        return error;
+    }
+}
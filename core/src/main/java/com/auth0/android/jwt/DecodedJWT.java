@@ -0,0 +1,519 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Wrapper class for values contained inside a Json Web Token (JWT). It doesn't depend on the Android framework,
+ * so it can be used on any JVM. On Android, the decoded instances are {@code JWT}, which adds Parcelable support.
+ */
+@SuppressWarnings("ALL")
+public class DecodedJWT {
+
+    /**
+     * The characters of the token. The String versions of the token and of the signature are only created when
+     * requested, since the source may not be a String.
+     */
+    private final CharSequence source;
+    private int signatureStart;
+    private int signatureEnd;
+    private String token;
+    private String signature;
+
+    Map<String, String> header;
+    JWTPayload payload;
+    /**
+     * Whether the Header and payload are known to be the ones encoded in the token: they were decoded from it, or
+     * restored from state sealed by this process. Restored state that wasn't sealed is checked against the token
+     * before anything relies on it being signed.
+     */
+    volatile boolean stateChecked;
+
+    /**
+     * Decode a given string JWT token.
+     *
+     * @param token the string JWT token.
+     * @throws DecodeException if the token cannot be decoded
+     */
+    public DecodedJWT(@NonNull String token) {
+        this(token, JWTDecoder.DEFAULT);
+    }
+
+    DecodedJWT(@NonNull CharSequence token, @NonNull JWTDecoder decoder) {
+        this.source = token;
+        parse(decoder);
+        this.stateChecked = true;
+    }
+
+    DecodedJWT(@NonNull String token, @NonNull Map<String, String> header, @NonNull JWTPayload payload, @NonNull String signature, boolean stateChecked) {
+        this.source = token;
+        this.stateChecked = stateChecked;
+        this.token = token;
+        this.header = header;
+        this.payload = payload;
+        this.signature = signature;
+        this.signatureStart = token.length() - signature.length();
+        this.signatureEnd = token.length();
+    }
+
+    /**
+     * Decode a JWT token given as characters, e.g. a {@link StringBuilder} or a {@link java.nio.CharBuffer}. The
+     * segments are decoded straight from the given characters, and the String version of the token is only created
+     * if {@link #toString()} is called. The characters must not be changed afterwards.
+     *
+     * @param token the characters of the JWT token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     * @see JWTDecoder#decode(CharSequence)
+     */
+    @NonNull
+    public static DecodedJWT decode(@NonNull CharSequence token) {
+        return JWTDecoder.DEFAULT.decode(token);
+    }
+
+    /**
+     * Decode a JWT token given as ASCII bytes, e.g. the value of an HTTP header. The segments are decoded straight
+     * from the given bytes, and the String version of the token is only created if {@link #toString()} is called.
+     * The bytes must not be changed afterwards.
+     *
+     * @param bytes  the array that holds the token.
+     * @param offset the index of the first byte of the token.
+     * @param length the number of bytes of the token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     * @see JWTDecoder#decode(byte[], int, int)
+     */
+    @NonNull
+    public static DecodedJWT decode(@NonNull byte[] bytes, int offset, int length) {
+        return JWTDecoder.DEFAULT.decode(bytes, offset, length);
+    }
+
+    /**
+     * Decode a JWT token given as the ASCII bytes between the position and the limit of a buffer. The position of
+     * the buffer is not changed. The segments are decoded straight from the buffer, and the String version of the
+     * token is only created if {@link #toString()} is called. The bytes must not be changed afterwards.
+     *
+     * @param buffer the buffer that holds the token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     * @see JWTDecoder#decode(ByteBuffer)
+     */
+    @NonNull
+    public static DecodedJWT decode(@NonNull ByteBuffer buffer) {
+        return JWTDecoder.DEFAULT.decode(buffer);
+    }
+
+    /**
+     * Decode a given string JWT token, or return the instance already decoded for it by a previous call. The
+     * process-wide cache keeps up to 64 tokens and drops them once they expire. Use a {@link JWTCache} to
+     * configure a different cache.
+     *
+     * @param token the string JWT token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     */
+    @NonNull
+    public static DecodedJWT decodeCached(@NonNull String token) {
+        return JWTCache.DEFAULT.get(token);
+    }
+
+    /**
+     * Decode every given string JWT token, spreading the work across the available processors. A token that can't
+     * be decoded doesn't stop the batch: its result holds the error instead.
+     *
+     * @param tokens   the string JWT tokens.
+     * @param executor the executor used to run the additional workers.
+     * @return the results, in the same order as the given tokens.
+     * @see JWTDecoder#decodeAll(Collection, Executor)
+     */
+    @NonNull
+    public static List<DecodeResult> decodeAll(@NonNull Collection<String> tokens, @NonNull Executor executor) {
+        return JWTDecoder.DEFAULT.decodeAll(tokens, executor);
+    }
+
+    /**
+     * Decode a given string JWT token on the given executor and call the callback on it too. Concurrent requests
+     * for the same token share a single decode.
+     *
+     * @param token    the string JWT token.
+     * @param executor the executor that runs the decode and calls the callback.
+     * @param callback the callback that receives the decoded JWT or the error.
+     * @see JWTDecoder#decodeAsync(String, Executor, Executor, DecodeCallback)
+     */
+    public static void decodeAsync(@NonNull String token, @NonNull Executor executor, @NonNull DecodeCallback callback) {
+        JWTDecoder.DEFAULT.decodeAsync(token, executor, executor, callback);
+    }
+
+    /**
+     * Decode a given string JWT token on the given worker executor and call the callback on the given callback
+     * executor, e.g. one that posts to the main thread. Concurrent requests for the same token share a single decode.
+     *
+     * @param token            the string JWT token.
+     * @param worker           the executor that runs the decode.
+     * @param callbackExecutor the executor that calls the callback.
+     * @param callback         the callback that receives the decoded JWT or the error.
+     * @see JWTDecoder#decodeAsync(String, Executor, Executor, DecodeCallback)
+     */
+    public static void decodeAsync(@NonNull String token, @NonNull Executor worker, @NonNull Executor callbackExecutor, @NonNull DecodeCallback callback) {
+        JWTDecoder.DEFAULT.decodeAsync(token, worker, callbackExecutor, callback);
+    }
+
+    /**
+     * Decode only the Header of a given string JWT token, e.g. to pick the key that verifies it. The payload is
+     * not decoded, so this is much cheaper than decoding the whole token.
+     *
+     * @param token the string JWT token.
+     * @return the decoded Header.
+     * @throws DecodeException if the Header cannot be decoded
+     * @see JWTDecoder#peekHeader(CharSequence)
+     */
+    @NonNull
+    public static JWTHeader peekHeader(@NonNull CharSequence token) {
+        return JWTDecoder.DEFAULT.peekHeader(token);
+    }
+
+    /**
+     * Get the Header values from this JWT as a Map of Strings.
+     *
+     * @return the Header values of the JWT.
+     */
+    @NonNull
+    public Map<String, String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Get the Signature from this JWT as a Base64 encoded String.
+     *
+     * @return the Signature of the JWT.
+     */
+    @NonNull
+    public String getSignature() {
+        if (signature == null) {
+            signature = source.subSequence(signatureStart, signatureEnd).toString();
+        }
+        return signature;
+    }
+
+    /**
+     * Get the value of the "iss" claim, or null if it's not available.
+     *
+     * @return the Issuer value or null.
+     */
+    @Nullable
+    public String getIssuer() {
+        return payload.iss;
+    }
+
+    /**
+     * Get the value of the "sub" claim, or null if it's not available.
+     *
+     * @return the Subject value or null.
+     */
+    @Nullable
+    public String getSubject() {
+        return payload.sub;
+    }
+
+    /**
+     * Get the value of the "aud" claim, or an empty list if it's not available.
+     *
+     * @return the Audience value or an empty list.
+     */
+    @Nullable
+    public List<String> getAudience() {
+        return payload.aud;
+    }
+
+    /**
+     * Get the value of the "exp" claim, or null if it's not available.
+     *
+     * @return the Expiration Time value or null.
+     */
+    @Nullable
+    public Date getExpiresAt() {
+        return toDate(payload.exp);
+    }
+
+    /**
+     * Get the value of the "exp" claim as seconds since the epoch, or {@link Long#MIN_VALUE} if it's not available.
+     *
+     * @return the Expiration Time value or {@link Long#MIN_VALUE}.
+     */
+    public long getExpiresAtEpochSeconds() {
+        return payload.exp;
+    }
+
+    /**
+     * Get the value of the "nbf" claim, or null if it's not available.
+     *
+     * @return the Not Before value or null.
+     */
+    @Nullable
+    public Date getNotBefore() {
+        return toDate(payload.nbf);
+    }
+
+    /**
+     * Get the value of the "nbf" claim as seconds since the epoch, or {@link Long#MIN_VALUE} if it's not available.
+     *
+     * @return the Not Before value or {@link Long#MIN_VALUE}.
+     */
+    public long getNotBeforeEpochSeconds() {
+        return payload.nbf;
+    }
+
+    /**
+     * Get the value of the "iat" claim, or null if it's not available.
+     *
+     * @return the Issued At value or null.
+     */
+    @Nullable
+    public Date getIssuedAt() {
+        return toDate(payload.iat);
+    }
+
+    /**
+     * Get the value of the "iat" claim as seconds since the epoch, or {@link Long#MIN_VALUE} if it's not available.
+     *
+     * @return the Issued At value or {@link Long#MIN_VALUE}.
+     */
+    public long getIssuedAtEpochSeconds() {
+        return payload.iat;
+    }
+
+    /**
+     * Get the value of the "jti" claim, or null if it's not available.
+     *
+     * @return the JWT ID value or null.
+     */
+    @Nullable
+    public String getId() {
+        return payload.jti;
+    }
+
+    /**
+     * Get a Claim given it's name. If the Claim wasn't specified in the JWT payload, a shared BaseClaim will be
+     * returned.
+     *
+     * @param name the name of the Claim to retrieve.
+     * @return a valid Claim.
+     */
+    @NonNull
+    public Claim getClaim(@NonNull String name) {
+        return payload.claimForName(name);
+    }
+
+    /**
+     * Get the value of a claim converted by the given key. It returns the same value as calling the matching method
+     * of {@link #getClaim(String)}, without creating the Claim when the value is a number, a boolean or a string.
+     *
+     * @param key the key of the claim to retrieve.
+     * @param <T> the type of the converted value.
+     * @return the converted value, or null if the claim is missing or can't be converted. List keys return an
+     * empty list instead.
+     */
+    @Nullable
+    public <T> T get(@NonNull ClaimKey<T> key) {
+        return key.get(payload.claimsFor(key.getName()));
+    }
+
+    /**
+     * Get the value at the end of the given path, e.g. a field of an object claim, without converting the claim
+     * itself. If there is no value at that path, a BaseClaim will be returned.
+     *
+     * @param path the compiled path of the value to retrieve.
+     * @return a valid Claim.
+     */
+    @NonNull
+    public Claim getClaim(@NonNull ClaimPath path) {
+        return path.resolve(payload.claimsFor(path.claimName()));
+    }
+
+    /**
+     * Get all the Claims. The Map can't be modified and iterates the Claims sorted by name.
+     *
+     * @return a valid Map of Claims.
+     */
+    @NonNull
+    public Map<String, Claim> getClaims() {
+        return payload.allClaims();
+    }
+
+    /**
+     * Validates that this JWT was issued in the past, is already valid and hasn't expired yet.
+     *
+     * @param leeway the time leeway in seconds in which the token should still be considered valid.
+     * @return if this JWT has already expired or not.
+     */
+    public boolean isExpired(long leeway) {
+        return isExpired(leeway, Clock.SYSTEM);
+    }
+
+    /**
+     * Validates that this JWT was issued in the past, is already valid and hasn't expired yet, according to the
+     * given clock. The "iat", "nbf" and "exp" claims are only checked when present.
+     *
+     * @param leeway the time leeway in seconds in which the token should still be considered valid.
+     * @param clock  the clock that provides the current time.
+     * @return if this JWT has already expired or not.
+     */
+    public boolean isExpired(long leeway, @NonNull Clock clock) {
+        if (leeway < 0) {
+            throw new IllegalArgumentException("The leeway must be a positive value.");
+        }
+        long now = clock.currentTimeMillis() / 1000; //truncate millis
+        boolean expValid = payload.exp == JWTPayload.NO_TIME || now - leeway <= payload.exp;
+        boolean iatValid = payload.iat == JWTPayload.NO_TIME || now + leeway >= payload.iat;
+        boolean nbfValid = payload.nbf == JWTPayload.NO_TIME || now + leeway >= payload.nbf;
+        return !expValid || !iatValid || !nbfValid;
+    }
+
+    /**
+     * Get the time left until this JWT expires, according to the given clock. The value is negative once the
+     * token has expired, and {@link Long#MAX_VALUE} if the "exp" claim is not available.
+     *
+     * @param clock the clock that provides the current time.
+     * @return the remaining lifetime in milliseconds.
+     */
+    public long getRemainingLifetimeMillis(@NonNull Clock clock) {
+        if (payload.exp == JWTPayload.NO_TIME) {
+            return Long.MAX_VALUE;
+        }
+        long expMillis = JWTPayload.toMillis(payload.exp);
+        long now = clock.currentTimeMillis();
+        long remaining = expMillis - now;
+        //The subtraction overflowed if the operands have different signs and the result's sign isn't expMillis'
+        if (((expMillis ^ now) & (expMillis ^ remaining)) < 0) {
+            return expMillis < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return remaining;
+    }
+
+    /**
+     * Returns the String representation of this JWT.
+     *
+     * @return the String Token.
+     */
+    @Override
+    public String toString() {
+        if (token == null) {
+            token = source.toString();
+        }
+        return token;
+    }
+
+    /**
+     * Get the characters of the token, as given to the decoder.
+     */
+    CharSequence source() {
+        return source;
+    }
+
+    /**
+     * Get the index of the first character of the signature in {@link #source()}. The signing input, the encoded
+     * Header and payload, ends at the separator right before it.
+     */
+    int signatureStart() {
+        return signatureStart;
+    }
+
+    /**
+     * Get the index after the last character of the signature in {@link #source()}.
+     */
+    int signatureEnd() {
+        return signatureEnd;
+    }
+
+    // =====================================
+    // ===========Private Methods===========
+    // =====================================
+
+    @Nullable
+    private static Date toDate(long epochSeconds) {
+        return epochSeconds != JWTPayload.NO_TIME ? new Date(JWTPayload.toMillis(epochSeconds)) : null;
+    }
+
+    /**
+     * Locates the segments with a single scan and decodes them straight from the source. The stages are only timed
+     * when the decoder has a listener.
+     */
+    private void parse(JWTDecoder decoder) {
+        DecodeListener listener = decoder.listener;
+        try {
+            parse(decoder, listener);
+        } catch (DecodeException e) {
+            if (listener != null) {
+                listener.onFailed(e.getReason());
+            }
+            throw e;
+        }
+    }
+
+    private void parse(JWTDecoder decoder, @Nullable DecodeListener listener) {
+        long splitStart = listener == null ? 0 : System.nanoTime();
+        CharSequence token = source;
+        int length = token.length();
+        decoder.checkTokenLength(length);
+        int headerEnd = -1;
+        int payloadEnd = -1;
+        int dots = 0;
+        for (int i = 0; i < length; i++) {
+            if (token.charAt(i) == '.') {
+                if (dots == 0) {
+                    headerEnd = i;
+                } else if (dots == 1) {
+                    payloadEnd = i;
+                }
+                dots++;
+            }
+        }
+        int end = length;
+        if (dots != 2) {
+            //Trailing separators don't count as parts, as with String#split
+            while (end > 0 && token.charAt(end - 1) == '.') {
+                end--;
+            }
+            int parts = end == 0 ? (length == 0 ? 1 : 0) : countParts(token, end);
+            if (parts != 2 || end == length) {
+                throw new DecodeException(DecodeException.Reason.MALFORMED_TOKEN, String.format("The token was expected to have 3 parts, but got %s.", parts));
+            }
+            //Tokens with alg='none' have empty String as Signature.
+            payloadEnd = end;
+        }
+        signatureStart = dots == 2 ? payloadEnd + 1 : length;
+        signatureEnd = length;
+        decoder.checkSegmentLength("Header", headerEnd);
+        decoder.checkSegmentLength("payload", payloadEnd - headerEnd - 1);
+        decoder.checkSegmentLength("signature", signatureEnd - signatureStart);
+        ScratchBuffers buffers = ScratchBuffers.get();
+        long headerStart = listener == null ? 0 : System.nanoTime();
+        header = decoder.parseHeader(buffers.base64Reader(token, 0, headerEnd));
+        long payloadStart = listener == null ? 0 : System.nanoTime();
+        payload = decoder.parsePayload(buffers.base64Reader(token, headerEnd + 1, payloadEnd));
+        if (listener != null) {
+            long payloadFinish = System.nanoTime();
+            listener.onStage(DecodeListener.Stage.SPLIT, headerStart - splitStart);
+            listener.onStage(DecodeListener.Stage.HEADER, payloadStart - headerStart);
+            listener.onStage(DecodeListener.Stage.PAYLOAD, payloadFinish - payloadStart);
+            listener.onDecoded(headerEnd, payloadEnd - headerEnd - 1, signatureEnd - signatureStart, payload.claimCount());
+        }
+    }
+
+    private static int countParts(CharSequence token, int end) {
+        int parts = 1;
+        for (int i = 0; i < end; i++) {
+            if (token.charAt(i) == '.') {
+                parts++;
+            }
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,61 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The GsonJsonCodec class parses JSON with a single Gson instance that is built once and shared across threads.
+ */
+class GsonJsonCodec extends JsonCodec {
+
+    static final GsonJsonCodec INSTANCE = new GsonJsonCodec();
+
+    /**
+     * Shared instance used to bind claim values to the classes requested by the user.
+     */
+    static final Gson GSON = new Gson();
+
+    private GsonJsonCodec() {
+    }
+
+    @Nullable
+    @Override
+    public Object parse(@NonNull Reader json) {
+        return toValue(parseTree(json));
+    }
+
+    @Override
+    JsonElement parseTree(Reader json) {
+        return JsonParser.parseReader(json);
+    }
+
+    /**
+     * Reads the payload with {@link JWTPayloadAdapter}, accepting the same input as {@link #parseTree(Reader)}.
+     */
+    @Override
+    JWTPayload parsePayload(Reader json, StringPool pool) throws IOException {
+        JsonReader reader = new JsonReader(json);
+        reader.setLenient(true);
+        JWTPayload payload;
+        try {
+            payload = JWTPayloadAdapter.INSTANCE.read(reader, pool);
+        } catch (StackOverflowError e) {
+            throw new JsonParseException("Failed parsing JSON source to Json", e);
+        }
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonSyntaxException("Did not consume the entire document.");
+        }
+        return payload;
+    }
+}
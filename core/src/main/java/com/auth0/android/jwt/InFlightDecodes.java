@@ -0,0 +1,118 @@
+package com.auth0.android.jwt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The InFlightDecodes class runs the asynchronous decodes of a {@link JWTDecoder}. Requests for a token that is
+ * already being decoded don't start a new decode: they wait for the running one and receive the same instance.
+ * Once a decode finishes, its token is forgotten, so the next request decodes it again.
+ */
+class InFlightDecodes {
+
+    private final JWTDecoder decoder;
+    private final Map<String, Decode> running = new HashMap<>();
+
+    InFlightDecodes(JWTDecoder decoder) {
+        this.decoder = decoder;
+    }
+
+    void decode(String token, Executor worker, Executor callbackExecutor, DecodeCallback callback) {
+        Decode decode;
+        synchronized (this) {
+            Decode current = running.get(token);
+            if (current != null) {
+                current.waiters.add(new Waiter(callbackExecutor, callback));
+                return;
+            }
+            decode = new Decode(token);
+            decode.waiters.add(new Waiter(callbackExecutor, callback));
+            running.put(token, decode);
+        }
+        //Submit without holding the lock, in case the executor runs the task right away
+        try {
+            worker.execute(decode);
+        } catch (RejectedExecutionException e) {
+            decode.run();
+        }
+    }
+
+    private synchronized List<Waiter> finish(Decode decode) {
+        running.remove(decode.token);
+        return decode.waiters;
+    }
+
+    private class Decode implements Runnable {
+        final String token;
+        //Guarded by the InFlightDecodes lock until the decode finishes
+        final List<Waiter> waiters = new ArrayList<>(2);
+
+        Decode(String token) {
+            this.token = token;
+        }
+
+        @Override
+        public void run() {
+            DecodedJWT jwt = null;
+            DecodeException error = null;
+            Error fatal = null;
+            try {
+                jwt = decoder.decode(token);
+            } catch (DecodeException e) {
+                error = e;
+            } catch (Throwable t) {
+                //Thrown by a custom JsonCodec or a DecodeListener: every waiter is told the decode failed
+                error = new DecodeException(DecodeException.Reason.UNEXPECTED_ERROR, "The token couldn't be decoded.", t);
+                if (t instanceof Error) {
+                    fatal = (Error) t;
+                }
+            }
+            //The token is forgotten before anyone is called, so the next request decodes it again
+            List<Waiter> waiters = finish(this);
+            for (Waiter waiter : waiters) {
+                try {
+                    waiter.deliver(jwt, error);
+                } catch (RuntimeException e) {
+                    //A callback run on this thread that throws must not keep the others from being called
+                    Thread current = Thread.currentThread();
+                    current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                }
+            }
+            if (fatal != null) {
+                throw fatal;
+            }
+        }
+    }
+
+    private static class Waiter {
+        final Executor executor;
+        final DecodeCallback callback;
+
+        Waiter(Executor executor, DecodeCallback callback) {
+            this.executor = executor;
+            this.callback = callback;
+        }
+
+        void deliver(final DecodedJWT jwt, final DecodeException error) {
+            Runnable delivery = new Runnable() {
+                @Override
+                public void run() {
+                    if (jwt != null) {
+                        callback.onSuccess(jwt);
+                    } else {
+                        callback.onFailure(error);
+                    }
+                }
+            };
+            try {
+                executor.execute(delivery);
+            } catch (RejectedExecutionException e) {
+                delivery.run();
+            }
+        }
+    }
+}
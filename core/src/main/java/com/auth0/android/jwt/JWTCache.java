@@ -0,0 +1,289 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The JWTCache class keeps the most recently decoded tokens, so decoding the same string JWT token again returns
+ * the already decoded {@link DecodedJWT} instance. It's bounded by entry count and by the total length of the cached
+ * tokens, evicting the least recently used ones first. Instances are thread-safe.
+ * <p>
+ * Despite their names, {@link Builder#maxBytes(long)} and {@link #byteSize()} measure the length of the string
+ * tokens in chars, which for the Base64 URL-safe characters of a JWT token is the same as its size in ASCII bytes.
+ */
+public final class JWTCache {
+
+    static final JWTCache DEFAULT = new Builder().build();
+
+    private final JWTDecoder decoder;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final boolean evictExpired;
+    private final Clock clock;
+    private final LinkedHashMap<String, DecodedJWT> entries;
+
+    private long bytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expiredCount;
+
+    private JWTCache(Builder builder) {
+        this.decoder = builder.decoder;
+        this.maxEntries = builder.maxEntries;
+        this.maxBytes = builder.maxBytes;
+        this.evictExpired = builder.evictExpired;
+        this.clock = builder.clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Get the decoded JWT for the given string JWT token, decoding it only if it's not already cached.
+     *
+     * @param token the string JWT token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     */
+    @NonNull
+    public DecodedJWT get(@NonNull String token) {
+        DecodedJWT cached = lookup(token);
+        DecodeListener listener = decoder.listener;
+        if (cached != null) {
+            if (listener != null) {
+                listener.onCacheHit();
+            }
+            return cached;
+        }
+        if (listener != null) {
+            listener.onCacheMiss();
+        }
+
+        //Decode without holding the lock. Concurrent misses for the same token keep the first stored instance.
+        DecodedJWT created = decoder.decode(token);
+        if (token.length() > maxBytes) {
+            //Storing it would evict every other token and then itself
+            return created;
+        }
+        synchronized (this) {
+            DecodedJWT previous = entries.put(token, created);
+            if (previous != null) {
+                entries.put(token, previous);
+                return previous;
+            }
+            bytes += token.length();
+            trimToSize();
+        }
+        return created;
+    }
+
+    /**
+     * Looks the token up and counts the hit or the miss. The listener of the decoder is called by the caller, so it
+     * never runs while the lock is held.
+     */
+    @Nullable
+    private synchronized DecodedJWT lookup(String token) {
+        DecodedJWT cached = entries.get(token);
+        if (cached != null) {
+            if (!evictExpired || !hasExpired(cached, clock.currentTimeMillis())) {
+                hitCount++;
+                return cached;
+            }
+            remove(token);
+            expiredCount++;
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Removes every cached token whose "exp" claim is already in the past.
+     */
+    public synchronized void evictExpired() {
+        long now = clock.currentTimeMillis();
+        Iterator<Map.Entry<String, DecodedJWT>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, DecodedJWT> entry = it.next();
+            if (hasExpired(entry.getValue(), now)) {
+                it.remove();
+                bytes -= entry.getKey().length();
+                expiredCount++;
+            }
+        }
+    }
+
+    /**
+     * Removes every cached token.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Get the number of cached tokens.
+     *
+     * @return the number of cached tokens.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the total length, in chars, of the cached string JWT tokens.
+     *
+     * @return the total length of the cached tokens in chars.
+     */
+    public synchronized long byteSize() {
+        return bytes;
+    }
+
+    /**
+     * Get the number of times a token was found in this cache.
+     *
+     * @return the hit count.
+     */
+    public synchronized long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of times a token had to be decoded because it wasn't in this cache.
+     *
+     * @return the miss count.
+     */
+    public synchronized long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the number of tokens evicted to keep this cache within its bounds.
+     *
+     * @return the eviction count.
+     */
+    public synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the number of tokens removed because they had expired.
+     *
+     * @return the expired count.
+     */
+    public synchronized long expiredCount() {
+        return expiredCount;
+    }
+
+    private void remove(String token) {
+        entries.remove(token);
+        bytes -= token.length();
+    }
+
+    private void trimToSize() {
+        Iterator<Map.Entry<String, DecodedJWT>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && it.hasNext()) {
+            Map.Entry<String, DecodedJWT> eldest = it.next();
+            it.remove();
+            bytes -= eldest.getKey().length();
+            evictionCount++;
+        }
+    }
+
+    private static boolean hasExpired(DecodedJWT jwt, long now) {
+        long exp = jwt.getExpiresAtEpochSeconds();
+        return exp != Long.MIN_VALUE && JWTPayload.toMillis(exp) <= now;
+    }
+
+    /**
+     * Builder class used to configure a {@link JWTCache}.
+     */
+    public static class Builder {
+
+        private JWTDecoder decoder = JWTDecoder.DEFAULT;
+        private int maxEntries = 64;
+        private long maxBytes = Long.MAX_VALUE;
+        private boolean evictExpired = true;
+        private Clock clock = Clock.SYSTEM;
+
+        /**
+         * Set the decoder used on a cache miss. Defaults to a decoder with the default configuration.
+         *
+         * @param decoder the decoder to use.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder decoder(@NonNull JWTDecoder decoder) {
+            this.decoder = decoder;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of cached tokens. Defaults to 64.
+         *
+         * @param maxEntries the maximum number of tokens.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder maxEntries(int maxEntries) {
+            if (maxEntries <= 0) {
+                throw new IllegalArgumentException("The max entries must be a positive value.");
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Set the maximum total length, in chars, of the cached string JWT tokens. A token longer than this is decoded
+         * but never cached. Unbounded by default.
+         *
+         * @param maxBytes the maximum total length in chars.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder maxBytes(long maxBytes) {
+            if (maxBytes <= 0) {
+                throw new IllegalArgumentException("The max bytes must be a positive value.");
+            }
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Set whether a cached token is dropped once its "exp" claim is in the past, instead of being returned.
+         * Defaults to true.
+         *
+         * @param evictExpired whether to drop expired tokens.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder evictExpired(boolean evictExpired) {
+            this.evictExpired = evictExpired;
+            return this;
+        }
+
+        /**
+         * Set the clock used to decide whether a cached token has expired. Defaults to {@link Clock#SYSTEM}.
+         *
+         * @param clock the clock to use.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder clock(@NonNull Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Create a new {@link JWTCache} with the configured values.
+         *
+         * @return a new cache.
+         */
+        @NonNull
+        public JWTCache build() {
+            return new JWTCache(this);
+        }
+    }
+}
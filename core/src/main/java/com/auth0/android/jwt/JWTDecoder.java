@@ -0,0 +1,458 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * The JWTDecoder class decodes string JWT tokens using a fixed configuration. Instances are immutable and
+ * thread-safe, so build one once and reuse it.
+ */
+public final class JWTDecoder {
+
+    static final JWTDecoder DEFAULT = new Builder().build();
+
+    private static final JWTDeserializer DESERIALIZER = new JWTDeserializer();
+
+    private final JsonCodec codec;
+    private final boolean lazyClaims;
+    private final Set<String> projection;
+    private final StringPool pool;
+    private final int maxTokenLength;
+    private final int maxSegmentLength;
+    private final int maxDepth;
+    private final int maxClaims;
+    //Null when nothing is registered, so that decoding doesn't measure anything
+    final DecodeListener listener;
+    private final InFlightDecodes inFlight = new InFlightDecodes(this);
+
+    private JWTDecoder(Builder builder) {
+        this.codec = builder.codec;
+        this.lazyClaims = builder.lazyClaims;
+        this.projection = builder.projection == null ? null : Collections.unmodifiableSet(new HashSet<>(builder.projection));
+        this.pool = builder.pool;
+        this.maxTokenLength = builder.maxTokenLength;
+        this.maxSegmentLength = builder.maxSegmentLength;
+        this.maxDepth = builder.maxDepth;
+        this.maxClaims = builder.maxClaims;
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Decode a given string JWT token. Other character sources, like a {@link StringBuilder}, are decoded straight
+     * from their characters, and the String version of the token is only created if {@link DecodedJWT#toString()}
+     * is called. In that case the characters must not be changed afterwards.
+     *
+     * @param token the string JWT token.
+     * @return the decoded JWT. On Android, it's a {@code JWT} instance.
+     * @throws DecodeException if the token cannot be decoded
+     */
+    @NonNull
+    public DecodedJWT decode(@NonNull CharSequence token) {
+        return JWTFactory.INSTANCE.create(token, this);
+    }
+
+    /**
+     * Decode a JWT token given as ASCII bytes. The segments are decoded straight from the given bytes, and the
+     * String version of the token is only created if {@link DecodedJWT#toString()} is called. The bytes must not
+     * be changed afterwards.
+     *
+     * @param bytes  the array that holds the token.
+     * @param offset the index of the first byte of the token.
+     * @param length the number of bytes of the token.
+     * @return the decoded JWT. On Android, it's a {@code JWT} instance.
+     * @throws DecodeException if the token cannot be decoded
+     * @throws IndexOutOfBoundsException if the range is not within the array
+     */
+    @NonNull
+    public DecodedJWT decode(@NonNull byte[] bytes, int offset, int length) {
+        return JWTFactory.INSTANCE.create(new AsciiSequence(bytes, offset, length), this);
+    }
+
+    /**
+     * Decode a JWT token given as the ASCII bytes between the position and the limit of a buffer. The position of
+     * the buffer is not changed. The segments are decoded straight from the buffer, and the String version of the
+     * token is only created if {@link DecodedJWT#toString()} is called. The bytes must not be changed afterwards.
+     *
+     * @param buffer the buffer that holds the token.
+     * @return the decoded JWT. On Android, it's a {@code JWT} instance.
+     * @throws DecodeException if the token cannot be decoded
+     */
+    @NonNull
+    public DecodedJWT decode(@NonNull ByteBuffer buffer) {
+        return JWTFactory.INSTANCE.create(new AsciiSequence(buffer), this);
+    }
+
+    /**
+     * Decode every given string JWT token, spreading the work across the available processors. A token that can't
+     * be decoded doesn't stop the batch: its result holds the error instead. The calling thread takes part in the
+     * work and this method returns once every token has been processed.
+     *
+     * @param tokens   the string JWT tokens.
+     * @param executor the executor used to run the additional workers.
+     * @return the results, in the same order as the given tokens.
+     */
+    @NonNull
+    public List<DecodeResult> decodeAll(@NonNull Collection<String> tokens, @NonNull Executor executor) {
+        return new BatchDecode(this, tokens).run(executor);
+    }
+
+    /**
+     * Decode a given string JWT token on the given worker executor and deliver the outcome on the given callback
+     * executor, e.g. one that posts to the main thread. Requests for a token that this decoder is already decoding
+     * don't start another decode: every one of them receives the same instance once the running decode finishes.
+     * If the worker executor rejects the task, the token is decoded on the calling thread. An unexpected exception,
+     * e.g. thrown by a custom {@link JsonCodec} or the listener, is delivered to every waiting callback as a
+     * DecodeException with the reason {@link DecodeException.Reason#UNEXPECTED_ERROR}.
+     *
+     * @param token            the string JWT token.
+     * @param worker           the executor that runs the decode.
+     * @param callbackExecutor the executor that calls the callback.
+     * @param callback         the callback that receives the decoded JWT or the error.
+     */
+    public void decodeAsync(@NonNull String token, @NonNull Executor worker, @NonNull Executor callbackExecutor, @NonNull DecodeCallback callback) {
+        inFlight.decode(token, worker, callbackExecutor, callback);
+    }
+
+    /**
+     * Decode only the Header of a given string JWT token. The token is read up to the first '.', so neither the
+     * payload nor the signature are decoded or validated. The listener, if any, receives the time of the
+     * {@link DecodeListener.Stage#HEADER} stage and {@link DecodeListener#onHeaderPeeked(int)}, or the failure.
+     *
+     * @param token the string JWT token.
+     * @return the decoded Header.
+     * @throws DecodeException if the Header cannot be decoded
+     */
+    @NonNull
+    public JWTHeader peekHeader(@NonNull CharSequence token) {
+        DecodeListener listener = this.listener;
+        long start = listener == null ? 0 : System.nanoTime();
+        try {
+            checkTokenLength(token.length());
+            int end = 0;
+            while (end < token.length() && token.charAt(end) != '.') {
+                end++;
+            }
+            if (end == token.length()) {
+                throw new DecodeException(DecodeException.Reason.MALFORMED_TOKEN, "The token was expected to have 3 parts, but got 1.");
+            }
+            checkSegmentLength("Header", end);
+            JWTHeader header = new JWTHeader(parseHeader(ScratchBuffers.get().base64Reader(token, 0, end)));
+            if (listener != null) {
+                listener.onStage(DecodeListener.Stage.HEADER, System.nanoTime() - start);
+                listener.onHeaderPeeked(end);
+            }
+            return header;
+        } catch (DecodeException e) {
+            if (listener != null) {
+                listener.onFailed(e.getReason());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Rejects a token longer than allowed before any of it is scanned.
+     */
+    void checkTokenLength(int length) {
+        if (length > maxTokenLength) {
+            throw new DecodeException(DecodeException.Reason.LIMIT_EXCEEDED, String.format("The token is %s characters long, but at most %s are allowed.", length, maxTokenLength));
+        }
+    }
+
+    /**
+     * Rejects a segment longer than allowed before it's decoded.
+     */
+    void checkSegmentLength(String segment, int length) {
+        if (length > maxSegmentLength) {
+            throw new DecodeException(DecodeException.Reason.LIMIT_EXCEEDED, String.format("The token's %s is %s characters long, but at most %s are allowed.", segment, length, maxSegmentLength));
+        }
+    }
+
+    Map<String, String> parseHeader(Reader json) {
+        JsonElement tree = parseJson(limit(json, "Header", Integer.MAX_VALUE));
+        if (!tree.isJsonObject()) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.");
+        }
+        Map<String, String> header = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> e : ((JsonObject) tree).entrySet()) {
+            JsonElement value = e.getValue();
+            if (value.isJsonNull()) {
+                header.put(pool.intern(e.getKey()), null);
+            } else if (value.isJsonPrimitive()) {
+                header.put(pool.intern(e.getKey()), pool.intern(value.getAsString()));
+            } else {
+                throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.");
+            }
+        }
+        return Collections.unmodifiableMap(header);
+    }
+
+    JWTPayload parsePayload(Reader json) {
+        json = limit(json, "payload", maxClaims);
+        if (lazyClaims || projection != null) {
+            return scanPayload(json);
+        }
+        try {
+            return codec.parsePayload(json, pool);
+        } catch (DecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.", e);
+        }
+    }
+
+    /**
+     * Passes the text of a segment through the limit reader, unless neither the depth nor the members are limited.
+     */
+    private Reader limit(Reader json, String segment, int maxMembers) {
+        if (maxDepth == Integer.MAX_VALUE && maxMembers == Integer.MAX_VALUE) {
+            return json;
+        }
+        return ScratchBuffers.get().limitReader(json, segment, maxDepth, maxMembers);
+    }
+
+    private JWTPayload scanPayload(Reader json) {
+        try {
+            ScratchBuffers buffers = ScratchBuffers.get();
+            int length = buffers.readFully(json);
+            //Lazy claims keep referencing the characters, so they can't stay in the shared buffer
+            char[] chars = lazyClaims ? Arrays.copyOf(buffers.chars(), length) : buffers.chars();
+            return scanPayload(chars, length, pool, projection, lazyClaims);
+        } catch (DecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.", e);
+        }
+    }
+
+    /**
+     * Reads the payload in a single pass with the built-in parser, straight into a {@link ClaimStore}. Values
+     * outside the projection are skipped without being materialized. In lazy mode only the location of the private
+     * claims is kept, and they will be parsed the first time their Claim is used.
+     *
+     * @param chars      the JSON text of the payload.
+     * @param length     the number of characters of the payload.
+     * @param pool       the pool used to share the string values and the claim names.
+     * @param projection the names of the claims to keep, or null to keep them all.
+     * @param lazyClaims whether the private claims are parsed on first use.
+     * @return the parsed payload.
+     * @throws IOException if the JSON document had an invalid format.
+     */
+    static JWTPayload scanPayload(char[] chars, int length, StringPool pool, @Nullable Set<String> projection, boolean lazyClaims) throws IOException {
+        JsonScanner scanner = new JsonScanner(chars, 0, length);
+        JsonObject registered = new JsonObject();
+        ClaimStore.Builder claims = new ClaimStore.Builder(pool);
+        scanner.beginObject();
+        while (scanner.hasNextMember()) {
+            String name = scanner.nextName();
+            if (projection != null && !projection.contains(name)) {
+                scanner.skipValue();
+            } else if (JWTDeserializer.isRegisteredClaim(name)) {
+                registered.add(name, scanner.nextValue());
+            } else if (!lazyClaims) {
+                claims.add(name, scanner.nextValue());
+            } else {
+                int start = scanner.position();
+                scanner.skipValue();
+                claims.add(name, new LazyClaim(chars, start, scanner.position() - start));
+            }
+        }
+        scanner.endDocument();
+        //Added once the whole object was read, as the last duplicate name wins
+        for (Map.Entry<String, JsonElement> e : registered.entrySet()) {
+            JWTDeserializer.addRegistered(claims, e.getKey(), e.getValue());
+        }
+        return DESERIALIZER.deserialize(registered, claims.build(), pool);
+    }
+
+    private JsonElement parseJson(Reader json) {
+        try {
+            return codec.parseTree(json);
+        } catch (DecodeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.", e);
+        }
+    }
+
+    /**
+     * Builder class used to configure a {@link JWTDecoder}.
+     */
+    public static class Builder {
+
+        private JsonCodec codec = JsonCodec.gson();
+        private boolean lazyClaims;
+        private Collection<String> projection;
+        private StringPool pool = StringPool.NONE;
+        private DecodeListener listener;
+        private int maxTokenLength = Integer.MAX_VALUE;
+        private int maxSegmentLength = Integer.MAX_VALUE;
+        private int maxDepth = Integer.MAX_VALUE;
+        private int maxClaims = Integer.MAX_VALUE;
+
+        /**
+         * Set the codec used to parse the JSON segments of the token. Defaults to {@link JsonCodec#gson()}.
+         *
+         * @param codec the codec to use.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder jsonCodec(@NonNull JsonCodec codec) {
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * Set whether the private claims are parsed only when they are first used. When enabled, the registered
+         * claims are read in a single pass over the payload and only the location of every other value is kept.
+         * Each Claim is then parsed and cached the first time one of its methods is called. The payload is always
+         * read with the built-in parser in this mode, regardless of the configured {@link JsonCodec}.
+         * Defaults to false.
+         *
+         * @param lazyClaims whether to parse the private claims lazily.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder lazyClaims(boolean lazyClaims) {
+            this.lazyClaims = lazyClaims;
+            return this;
+        }
+
+        /**
+         * Keep only the claims with the given names. The values of every other claim, including the registered
+         * ones, are skipped while reading the payload, so the decoded {@link DecodedJWT} behaves as if they were absent.
+         * The payload is always read with the built-in parser when a projection is set, regardless of the
+         * configured {@link JsonCodec}. By default every claim is kept.
+         *
+         * @param names the names of the claims to keep.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder onlyClaims(@NonNull String... names) {
+            this.projection = Arrays.asList(names.clone());
+            return this;
+        }
+
+        /**
+         * Set the pool used to share the short strings repeated across tokens, like the issuer, the audience, the
+         * Header values and the claim names. Decoded tokens then reference the pooled instances instead of their own
+         * copies, which saves memory when many tokens are kept. By default nothing is pooled.
+         *
+         * @param pool the pool to use, which can be shared by several decoders.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder stringPool(@NonNull StringPool pool) {
+            this.pool = pool;
+            return this;
+        }
+
+        /**
+         * Set the listener that receives the timings of each decoding stage, the sizes of the decoded tokens and
+         * the failures. A {@link JWTCache} that uses this decoder reports its hits and misses to it too. By default
+         * nothing is measured.
+         *
+         * @param listener the listener to notify, or null to measure nothing.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder listener(@Nullable DecodeListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Set the maximum length of a token. Longer tokens are rejected with
+         * {@link DecodeException.Reason#LIMIT_EXCEEDED} before any of their characters is read.
+         * By default the length isn't limited.
+         *
+         * @param maxTokenLength the maximum number of characters of a token.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder maxTokenLength(int maxTokenLength) {
+            if (maxTokenLength <= 0) {
+                throw new IllegalArgumentException("The max token length must be a positive value.");
+            }
+            this.maxTokenLength = maxTokenLength;
+            return this;
+        }
+
+        /**
+         * Set the maximum length of each segment of a token: the Header, the payload and the signature. Tokens with
+         * a longer segment are rejected with {@link DecodeException.Reason#LIMIT_EXCEEDED} once the segments are
+         * located, before any of them is decoded. By default only the length of the whole token is limited.
+         *
+         * @param maxSegmentLength the maximum number of characters of a segment.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder maxSegmentLength(int maxSegmentLength) {
+            if (maxSegmentLength <= 0) {
+                throw new IllegalArgumentException("The max segment length must be a positive value.");
+            }
+            this.maxSegmentLength = maxSegmentLength;
+            return this;
+        }
+
+        /**
+         * Set how deeply the arrays and objects of the Header and the payload can be nested, counting the root
+         * object as the first level. Deeper tokens are rejected with {@link DecodeException.Reason#LIMIT_EXCEEDED}
+         * as soon as the decoded text reaches the limit, before the parser does. By default the depth isn't limited.
+         *
+         * @param maxDepth the maximum nesting depth.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth <= 0) {
+                throw new IllegalArgumentException("The max depth must be a positive value.");
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of claims in the payload. Tokens with more claims are rejected with
+         * {@link DecodeException.Reason#LIMIT_EXCEEDED} as soon as the decoded text reaches the limit, before the
+         * parser does. A name repeated in the payload counts every time. By default the claims aren't limited.
+         *
+         * @param maxClaims the maximum number of claims.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder maxClaims(int maxClaims) {
+            if (maxClaims <= 0) {
+                throw new IllegalArgumentException("The max claims must be a positive value.");
+            }
+            this.maxClaims = maxClaims;
+            return this;
+        }
+
+        /**
+         * Create a new {@link JWTDecoder} with the configured values.
+         *
+         * @return a new decoder.
+         */
+        @NonNull
+        public JWTDecoder build() {
+            return new JWTDecoder(this);
+        }
+    }
+}
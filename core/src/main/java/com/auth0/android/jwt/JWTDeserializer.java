@@ -0,0 +1,179 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+class JWTDeserializer implements JsonDeserializer<JWTPayload> {
+
+    /**
+     * Checks whether the given claim name is one of the registered claims read into the {@link JWTPayload} fields.
+     *
+     * @param claimName the name of the claim.
+     * @return whether it's a registered claim.
+     */
+    static boolean isRegisteredClaim(String claimName) {
+        switch (claimName) {
+            case "iss":
+            case "sub":
+            case "exp":
+            case "nbf":
+            case "iat":
+            case "jti":
+            case "aud":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Checks whether the value of a registered claim can be rebuilt exactly from the {@link JWTPayload} field it's
+     * read into, so it doesn't need to be kept in the {@link ClaimStore} as well: strings for "iss", "sub" and "jti",
+     * canonical integral numbers for the time claims and non-empty arrays of strings for "aud".
+     *
+     * @param claimName the name of the registered claim.
+     * @param value     the value of the claim.
+     * @return whether the claim is rebuilt from its field.
+     */
+    static boolean isRebuiltFromField(String claimName, JsonElement value) {
+        switch (claimName) {
+            case "iss":
+            case "sub":
+            case "jti":
+                return isString(value);
+            case "exp":
+            case "nbf":
+            case "iat":
+                return value.isJsonPrimitive() && value.getAsJsonPrimitive().isNumber() && ClaimStore.isCanonicalLong(value.getAsString());
+            case "aud":
+                if (!value.isJsonArray() || value.getAsJsonArray().size() == 0) {
+                    return false;
+                }
+                for (JsonElement e : value.getAsJsonArray()) {
+                    if (!isString(e)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Adds a registered claim to the claims of the payload, unless it's rebuilt from its field.
+     */
+    static void addRegistered(ClaimStore.Builder claims, String claimName, JsonElement value) {
+        if (value != null && !isRebuiltFromField(claimName, value)) {
+            claims.add(claimName, value);
+        }
+    }
+
+    private static boolean isString(JsonElement value) {
+        return value.isJsonPrimitive() && value.getAsJsonPrimitive().isString();
+    }
+
+    @Override
+    public JWTPayload deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        return deserialize(json, StringPool.NONE);
+    }
+
+    /**
+     * Creates the payload from the given tree.
+     *
+     * @param json the parsed payload.
+     * @param pool the pool used to share the string values and the claim names.
+     * @return the payload.
+     */
+    JWTPayload deserialize(JsonElement json, StringPool pool) {
+        if (json.isJsonNull() || !json.isJsonObject()) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.");
+        }
+
+        JsonObject object = json.getAsJsonObject();
+
+        //Private Claims, and the registered ones that can't be rebuilt from their field
+        ClaimStore.Builder claims = new ClaimStore.Builder(pool);
+        for (Map.Entry<String, JsonElement> e : object.entrySet()) {
+            if (isRegisteredClaim(e.getKey())) {
+                addRegistered(claims, e.getKey(), e.getValue());
+            } else {
+                claims.add(e.getKey(), e.getValue());
+            }
+        }
+
+        return deserialize(object, claims.build(), pool);
+    }
+
+    /**
+     * Creates the payload from the registered claims contained in the given object and the already built claims.
+     *
+     * @param object the object that contains the registered claims.
+     * @param claims the claims of the payload, without the registered ones rebuilt from their field.
+     * @param pool   the pool used to share the string values.
+     * @return the payload.
+     */
+    JWTPayload deserialize(JsonObject object, ClaimStore claims, StringPool pool) {
+        //Public Claims
+        String iss = pool.intern(getString(object, "iss"));
+        String sub = pool.intern(getString(object, "sub"));
+        long exp = getEpochSeconds(object, "exp");
+        long nbf = getEpochSeconds(object, "nbf");
+        long iat = getEpochSeconds(object, "iat");
+        String jti = pool.intern(getString(object, "jti"));
+        List<String> aud = getStringOrArray(object, "aud", pool);
+
+        return new JWTPayload(iss, sub, exp, nbf, iat, jti, aud, claims);
+    }
+
+    private List<String> getStringOrArray(JsonObject obj, String claimName, StringPool pool) {
+        return obj.has(claimName) ? asStringOrArray(obj.get(claimName), pool) : Collections.<String>emptyList();
+    }
+
+    private long getEpochSeconds(JsonObject obj, String claimName) {
+        return obj.has(claimName) ? asEpochSeconds(obj.get(claimName)) : JWTPayload.NO_TIME;
+    }
+
+    private String getString(JsonObject obj, String claimName) {
+        return obj.has(claimName) ? asString(obj.get(claimName)) : null;
+    }
+
+    /**
+     * Converts the value of the "aud" claim, which can be a single string or an array of them.
+     */
+    static List<String> asStringOrArray(JsonElement value, StringPool pool) {
+        if (!value.isJsonArray()) {
+            return Collections.singletonList(pool.intern(value.getAsString()));
+        }
+        JsonArray jsonArr = value.getAsJsonArray();
+        List<String> list = new ArrayList<>(jsonArr.size());
+        for (int i = 0; i < jsonArr.size(); i++) {
+            list.add(pool.intern(jsonArr.get(i).getAsString()));
+        }
+        return list;
+    }
+
+    /**
+     * Converts the value of a time claim. Missing values are represented by {@link JWTPayload#NO_TIME}.
+     */
+    static long asEpochSeconds(JsonElement value) {
+        return value == null ? JWTPayload.NO_TIME : value.getAsLong();
+    }
+
+    /**
+     * Converts the value of a string claim. Missing values are represented by null.
+     */
+    static String asString(JsonElement value) {
+        return value == null ? null : value.getAsString();
+    }
+}
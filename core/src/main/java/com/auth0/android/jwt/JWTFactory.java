@@ -0,0 +1,41 @@
+package com.auth0.android.jwt;
+
+import java.util.Map;
+
+/**
+ * The JWTFactory class creates the instances returned by {@link JWTDecoder}. When the Android library is
+ * available it provides its own factory, so that decoded tokens are Parcelable.
+ */
+abstract class JWTFactory {
+
+    private static final String ANDROID_FACTORY = "com.auth0.android.jwt.ParcelableJWTFactory";
+
+    static final JWTFactory INSTANCE = load();
+
+    abstract DecodedJWT create(CharSequence token, JWTDecoder decoder);
+
+    /**
+     * Creates an instance from its already decoded parts, e.g. read back from a {@link PersistentJWTStore}.
+     *
+     * @param stateChecked whether the parts are known to be the ones encoded in the token.
+     */
+    abstract DecodedJWT create(String token, Map<String, String> header, JWTPayload payload, String signature, boolean stateChecked);
+
+    private static JWTFactory load() {
+        try {
+            return (JWTFactory) Class.forName(ANDROID_FACTORY).newInstance();
+        } catch (Exception | LinkageError e) {
+            return new JWTFactory() {
+                @Override
+                DecodedJWT create(CharSequence token, JWTDecoder decoder) {
+                    return new DecodedJWT(token, decoder);
+                }
+
+                @Override
+                DecodedJWT create(String token, Map<String, String> header, JWTPayload payload, String signature, boolean stateChecked) {
+                    return new DecodedJWT(token, header, payload, signature, stateChecked);
+                }
+            };
+        }
+    }
+}
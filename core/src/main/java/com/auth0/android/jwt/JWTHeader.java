@@ -0,0 +1,86 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+
+/**
+ * The JWTHeader class holds the values of the Header of a string JWT token, obtained without decoding its payload.
+ *
+ * @see DecodedJWT#peekHeader(String)
+ */
+public final class JWTHeader {
+
+    private final Map<String, String> values;
+
+    JWTHeader(@NonNull Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Get the value of the "alg" header, or null if it's not available.
+     *
+     * @return the Algorithm value or null.
+     */
+    @Nullable
+    public String getAlgorithm() {
+        return values.get("alg");
+    }
+
+    /**
+     * Get the value of the "kid" header, or null if it's not available.
+     *
+     * @return the Key ID value or null.
+     */
+    @Nullable
+    public String getKeyId() {
+        return values.get("kid");
+    }
+
+    /**
+     * Get the value of the "typ" header, or null if it's not available.
+     *
+     * @return the Type value or null.
+     */
+    @Nullable
+    public String getType() {
+        return values.get("typ");
+    }
+
+    /**
+     * Get the value of the "cty" header, or null if it's not available.
+     *
+     * @return the Content Type value or null.
+     */
+    @Nullable
+    public String getContentType() {
+        return values.get("cty");
+    }
+
+    /**
+     * Get the value of a header given it's name, or null if it's not available.
+     *
+     * @param name the name of the header to retrieve.
+     * @return the header value or null.
+     */
+    @Nullable
+    public String get(@NonNull String name) {
+        return values.get(name);
+    }
+
+    /**
+     * Get all the Header values as a Map of Strings.
+     *
+     * @return the Header values.
+     */
+    @NonNull
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,134 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+
+import java.util.Collections;
+import java.util.List;
+
+class JWTPayload {
+
+    /**
+     * Value of the time claims that are not available.
+     */
+    static final long NO_TIME = Long.MIN_VALUE;
+
+    final String iss;
+    final String sub;
+    //Time claims, in seconds since the epoch
+    final long exp;
+    final long nbf;
+    final long iat;
+    final String jti;
+    final List<String> aud;
+    //The registered claims whose value is rebuilt from the fields above aren't kept here
+    final ClaimStore claims;
+    //Every claim, built the first time a registered one is read as a Claim
+    private volatile ClaimStore allClaims;
+
+    JWTPayload(String iss, String sub, long exp, long nbf, long iat, String jti, List<String> aud, ClaimStore claims) {
+        this.iss = iss;
+        this.sub = sub;
+        this.exp = exp;
+        this.nbf = nbf;
+        this.iat = iat;
+        this.jti = jti;
+        this.aud = Collections.unmodifiableList(aud);
+        this.claims = claims;
+    }
+
+    /**
+     * Converts seconds since the epoch to milliseconds, saturating at the bounds of a long instead of overflowing
+     * on the far future or past values a token may hold.
+     *
+     * @param epochSeconds the time in seconds since the epoch.
+     * @return the time in milliseconds since the epoch.
+     */
+    static long toMillis(long epochSeconds) {
+        if (epochSeconds > Long.MAX_VALUE / 1000) {
+            return Long.MAX_VALUE;
+        }
+        if (epochSeconds < Long.MIN_VALUE / 1000) {
+            return Long.MIN_VALUE;
+        }
+        return epochSeconds * 1000;
+    }
+
+    Claim claimForName(String name) {
+        final Claim claim = claimsFor(name).get(name);
+        return claim != null ? claim : BaseClaim.MISSING;
+    }
+
+    /**
+     * Get the claims in which the given name has to be looked up. Private claims are always found in {@link #claims},
+     * but registered ones may only be found in {@link #allClaims()}.
+     *
+     * @param name the name of the claim.
+     * @return the claims to look the name up in.
+     */
+    ClaimStore claimsFor(String name) {
+        return JWTDeserializer.isRegisteredClaim(name) ? allClaims() : claims;
+    }
+
+    /**
+     * Get every claim of the payload, including the registered claims that are only kept in the fields. They are
+     * added to a copy of the claims the first time it's requested.
+     *
+     * @return all the claims.
+     */
+    ClaimStore allClaims() {
+        ClaimStore all = allClaims;
+        if (all == null) {
+            ClaimStore.Builder registered = new ClaimStore.Builder();
+            if (isOnlyInField("iss", iss != null)) {
+                registered.add("iss", new JsonPrimitive(iss));
+            }
+            if (isOnlyInField("sub", sub != null)) {
+                registered.add("sub", new JsonPrimitive(sub));
+            }
+            if (isOnlyInField("jti", jti != null)) {
+                registered.add("jti", new JsonPrimitive(jti));
+            }
+            if (isOnlyInField("exp", exp != NO_TIME)) {
+                registered.add("exp", new JsonPrimitive(exp));
+            }
+            if (isOnlyInField("nbf", nbf != NO_TIME)) {
+                registered.add("nbf", new JsonPrimitive(nbf));
+            }
+            if (isOnlyInField("iat", iat != NO_TIME)) {
+                registered.add("iat", new JsonPrimitive(iat));
+            }
+            if (isOnlyInField("aud", !aud.isEmpty())) {
+                JsonArray array = new JsonArray();
+                for (String value : aud) {
+                    array.add(value);
+                }
+                registered.add("aud", array);
+            }
+            all = claims.plus(registered.build());
+            allClaims = all;
+        }
+        return all;
+    }
+
+    /**
+     * Get the number of claims of the payload, without building {@link #allClaims()}.
+     *
+     * @return the claim count.
+     */
+    int claimCount() {
+        int count = claims.size();
+        count += isOnlyInField("iss", iss != null) ? 1 : 0;
+        count += isOnlyInField("sub", sub != null) ? 1 : 0;
+        count += isOnlyInField("jti", jti != null) ? 1 : 0;
+        count += isOnlyInField("exp", exp != NO_TIME) ? 1 : 0;
+        count += isOnlyInField("nbf", nbf != NO_TIME) ? 1 : 0;
+        count += isOnlyInField("iat", iat != NO_TIME) ? 1 : 0;
+        count += isOnlyInField("aud", !aud.isEmpty()) ? 1 : 0;
+        return count;
+    }
+
+    private boolean isOnlyInField(String name, boolean present) {
+        return present && !claims.containsKey(name);
+    }
+}
@@ -0,0 +1,142 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JWTPayloadAdapter class reads the payload of a JWT in a single forward pass, without building a
+ * {@link com.google.gson.JsonObject} for it first. It produces the same payload as {@link JWTDeserializer}. Private
+ * claims holding a string, a number, a boolean or null are read straight into the {@link ClaimStore}; only arrays,
+ * objects and the registered claims are read into a tree.
+ */
+class JWTPayloadAdapter extends TypeAdapter<JWTPayload> {
+
+    private static final TypeAdapter<JsonElement> JSON_ELEMENT = GsonJsonCodec.GSON.getAdapter(JsonElement.class);
+
+    static final JWTPayloadAdapter INSTANCE = new JWTPayloadAdapter();
+
+    private JWTPayloadAdapter() {
+    }
+
+    @Override
+    public JWTPayload read(JsonReader in) throws IOException {
+        return read(in, StringPool.NONE);
+    }
+
+    /**
+     * Reads the payload, sharing the string values and the claim names through the given pool.
+     *
+     * @param in   the reader positioned at the payload.
+     * @param pool the pool used to share the strings.
+     * @return the payload.
+     * @throws IOException if the payload couldn't be read.
+     */
+    JWTPayload read(JsonReader in, StringPool pool) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.");
+        }
+
+        //The registered claims are converted once the whole object was read, as the last duplicate name wins
+        JsonElement iss = null;
+        JsonElement sub = null;
+        JsonElement exp = null;
+        JsonElement nbf = null;
+        JsonElement iat = null;
+        JsonElement jti = null;
+        JsonElement aud = null;
+        ClaimStore.Builder claims = new ClaimStore.Builder(pool);
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            switch (name) {
+                case "iss":
+                    iss = JSON_ELEMENT.read(in);
+                    break;
+                case "sub":
+                    sub = JSON_ELEMENT.read(in);
+                    break;
+                case "exp":
+                    exp = JSON_ELEMENT.read(in);
+                    break;
+                case "nbf":
+                    nbf = JSON_ELEMENT.read(in);
+                    break;
+                case "iat":
+                    iat = JSON_ELEMENT.read(in);
+                    break;
+                case "jti":
+                    jti = JSON_ELEMENT.read(in);
+                    break;
+                case "aud":
+                    aud = JSON_ELEMENT.read(in);
+                    break;
+                default:
+                    readClaim(in, name, claims);
+                    break;
+            }
+        }
+        in.endObject();
+        JWTDeserializer.addRegistered(claims, "iss", iss);
+        JWTDeserializer.addRegistered(claims, "sub", sub);
+        JWTDeserializer.addRegistered(claims, "exp", exp);
+        JWTDeserializer.addRegistered(claims, "nbf", nbf);
+        JWTDeserializer.addRegistered(claims, "iat", iat);
+        JWTDeserializer.addRegistered(claims, "jti", jti);
+        JWTDeserializer.addRegistered(claims, "aud", aud);
+
+        List<String> audience = aud == null ? Collections.<String>emptyList() : JWTDeserializer.asStringOrArray(aud, pool);
+        return new JWTPayload(pool.intern(JWTDeserializer.asString(iss)), pool.intern(JWTDeserializer.asString(sub)),
+                JWTDeserializer.asEpochSeconds(exp), JWTDeserializer.asEpochSeconds(nbf),
+                JWTDeserializer.asEpochSeconds(iat), pool.intern(JWTDeserializer.asString(jti)), audience, claims.build());
+    }
+
+    /**
+     * Adds the next value as a private claim, without wrapping the primitives in a tree.
+     */
+    private static void readClaim(JsonReader in, String name, ClaimStore.Builder claims) throws IOException {
+        switch (in.peek()) {
+            case STRING:
+                claims.add(name, in.nextString());
+                break;
+            case NUMBER:
+                claims.addNumber(name, in.nextString());
+                break;
+            case BOOLEAN:
+                claims.add(name, in.nextBoolean());
+                break;
+            case NULL:
+                in.nextNull();
+                claims.addNull(name);
+                break;
+            default:
+                claims.add(name, JSON_ELEMENT.read(in));
+                break;
+        }
+    }
+
+    /**
+     * Writes the payload as a JSON object with every claim, including the registered ones, in the order of their
+     * names.
+     */
+    @Override
+    public void write(JsonWriter out, JWTPayload value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        for (Map.Entry<String, Claim> e : value.allClaims().entrySet()) {
+            out.name(e.getKey());
+            JSON_ELEMENT.write(out, ClaimStore.jsonOf(e.getValue()));
+        }
+        out.endObject();
+    }
+}
@@ -0,0 +1,143 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JWTState class writes the decoded parts of a token, its Header, registered claims and claims, in a compact
+ * binary layout, and rebuilds the token from them without parsing any JSON. The layout holds nothing that ties it
+ * to the token, so state read from outside this process must be authenticated with {@link StateSeal} before it's
+ * trusted.
+ */
+class JWTState {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private JWTState() {
+    }
+
+    /**
+     * Writes the decoded parts of the given token.
+     *
+     * @param jwt the decoded token.
+     * @return the encoded state.
+     */
+    static byte[] encode(DecodedJWT jwt) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(jwt.getSignature().length());
+            out.writeInt(jwt.header.size());
+            for (Map.Entry<String, String> e : jwt.header.entrySet()) {
+                writeString(out, e.getKey());
+                writeString(out, e.getValue());
+            }
+            JWTPayload payload = jwt.payload;
+            writeString(out, payload.iss);
+            writeString(out, payload.sub);
+            writeString(out, payload.jti);
+            out.writeLong(payload.exp);
+            out.writeLong(payload.nbf);
+            out.writeLong(payload.iat);
+            out.writeInt(payload.aud.size());
+            for (String aud : payload.aud) {
+                writeString(out, aud);
+            }
+            byte[] claims = ClaimEncoding.encode(payload.claims);
+            out.writeInt(claims.length);
+            out.write(claims);
+            out.flush();
+        } catch (IOException e) {
+            //Writing to memory never fails
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Rebuilds a token from its encoded state.
+     *
+     * @param token   the string JWT token.
+     * @param state   the array that holds the encoded state.
+     * @param offset  the index of the first byte of the state.
+     * @param length  the number of bytes of the state.
+     * @param checked whether the state is known to have been encoded from this same token.
+     * @return the token, or null if the state is malformed.
+     */
+    @Nullable
+    static DecodedJWT restore(String token, byte[] state, int offset, int length, boolean checked) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(state, offset, length);
+            int signatureLength = in.getInt();
+            if (signatureLength < 0 || signatureLength > token.length()) {
+                return null;
+            }
+            int headerSize = in.getInt();
+            Map<String, String> header = new LinkedHashMap<>();
+            for (int i = 0; i < headerSize; i++) {
+                header.put(readString(in), readString(in));
+            }
+            String iss = readString(in);
+            String sub = readString(in);
+            String jti = readString(in);
+            long exp = in.getLong();
+            long nbf = in.getLong();
+            long iat = in.getLong();
+            int audSize = in.getInt();
+            List<String> aud = new ArrayList<>(Math.min(Math.max(audSize, 0), in.remaining()));
+            for (int i = 0; i < audSize; i++) {
+                aud.add(readString(in));
+            }
+            int claimsLength = readLength(in);
+            ClaimStore claims = ClaimEncoding.decode(state, in.position(), claimsLength);
+            JWTPayload payload = new JWTPayload(iss, sub, exp, nbf, iat, jti, aud, claims);
+            String signature = token.substring(token.length() - signatureLength);
+            return JWTFactory.INSTANCE.create(token, Collections.unmodifiableMap(header), payload, signature, checked);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(ByteBuffer in) {
+        if (in.getInt(in.position()) == -1) {
+            in.getInt();
+            return null;
+        }
+        int length = readLength(in);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    /**
+     * Reads a length, checking that there are that many bytes left so a damaged length never allocates more.
+     */
+    private static int readLength(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("The state is malformed.");
+        }
+        return length;
+    }
+}
@@ -0,0 +1,457 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The JWTVerifier class checks the signature of decoded tokens signed with HS256, HS384, HS512, RS256, RS384,
+ * RS512, ES256, ES384 or ES512. The signature is verified against the encoded Header and payload exactly as they
+ * appear in the token, so nothing is encoded again, and the signature is decoded into a per-thread buffer. Every
+ * thread keeps its own Mac and Signature instances, created and initialized with the key on its first verification
+ * of each algorithm, so verifying doesn't look the providers up again. Instances are thread-safe: build a verifier
+ * once per key and reuse it, since each one holds its own per-thread instances.
+ * <p>
+ * Only the signature is checked. The time claims can be checked with {@link DecodedJWT#isExpired(long)}.
+ * <p>
+ * The signature only covers the text of the token, so a token whose Header and claims were restored without being
+ * checked against that text, e.g. loaded by a {@link PersistentJWTStore}, is decoded again and must match before
+ * its signature is verified. Tokens restored from a decoder configured with a projection never match.
+ */
+public final class JWTVerifier {
+
+    private static final Algorithm[] ALGORITHMS = Algorithm.values();
+
+    private final byte[] secret;
+    private final PublicKey publicKey;
+    private final boolean[] enabled;
+    private final ThreadLocal<Engine[]> engines = new ThreadLocal<Engine[]>() {
+        @Override
+        protected Engine[] initialValue() {
+            return new Engine[ALGORITHMS.length];
+        }
+    };
+
+    private JWTVerifier(byte[] secret, PublicKey publicKey, boolean[] enabled) {
+        this.secret = secret;
+        this.publicKey = publicKey;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks the signature of the given token, using the algorithm named by its "alg" Header.
+     *
+     * @param jwt the decoded token.
+     * @return true if the signature is valid for the configured keys, false if it's invalid, malformed or missing,
+     * if the algorithm isn't accepted by this verifier, or if the restored Header and claims of the token aren't the
+     * ones its text decodes to.
+     * @throws IllegalStateException if the algorithm isn't available from the security providers.
+     */
+    public boolean verify(@NonNull DecodedJWT jwt) {
+        if (!jwt.stateChecked && !isDecodedFromSource(jwt)) {
+            return false;
+        }
+        Algorithm algorithm = Algorithm.forName(jwt.getHeader().get("alg"));
+        if (algorithm == null || !enabled[algorithm.ordinal()]) {
+            return false;
+        }
+        CharSequence source = jwt.source();
+        int signatureStart = jwt.signatureStart();
+        int signatureEnd = jwt.signatureEnd();
+        if (signatureStart == signatureEnd) {
+            return false;
+        }
+        ScratchBuffers buffers = ScratchBuffers.get();
+        //Room for the decoded signature, followed by the computed HMAC or the DER encoded ECDSA signature
+        byte[] signature = buffers.signatureBytes((signatureEnd - signatureStart) * 2 + 80);
+        int length = Base64UrlReader.decodeBytes(source, signatureStart, signatureEnd, signature);
+        Engine[] threadEngines = engines.get();
+        Engine engine = threadEngines[algorithm.ordinal()];
+        if (engine == null) {
+            engine = createEngine(algorithm);
+            threadEngines[algorithm.ordinal()] = engine;
+        }
+        if (length == -1 || !engine.accepts(length)) {
+            return false;
+        }
+
+        //The signing input ends at the separator before the signature
+        int inputEnd = signatureStart - 1;
+        boolean completed = false;
+        try {
+            if (source instanceof AsciiSequence) {
+                engine.update(((AsciiSequence) source).bytes(0, inputEnd));
+            } else {
+                byte[] input = buffers.inputBytes(inputEnd);
+                for (int i = 0; i < inputEnd; i++) {
+                    input[i] = (byte) source.charAt(i);
+                }
+                engine.update(input, inputEnd);
+            }
+            boolean valid = engine.verify(signature, length);
+            completed = true;
+            return valid;
+        } catch (SignatureException e) {
+            //The signature couldn't be parsed by the provider
+            return false;
+        } finally {
+            if (!completed) {
+                //The state of an engine that failed midway is unknown, so a new one is created next time
+                threadEngines[algorithm.ordinal()] = null;
+            }
+        }
+    }
+
+    /**
+     * Checks that the Header, the claims and the signature of a token restored without being checked are the ones
+     * its text decodes to. A token that matches is marked as checked, so it's only decoded once.
+     */
+    private static boolean isDecodedFromSource(DecodedJWT jwt) {
+        DecodedJWT decoded;
+        try {
+            decoded = JWTDecoder.DEFAULT.decode(jwt.toString());
+        } catch (DecodeException e) {
+            return false;
+        }
+        JWTPayload expected = decoded.payload;
+        JWTPayload actual = jwt.payload;
+        boolean matches = decoded.header.equals(jwt.header)
+                && decoded.getSignature().equals(jwt.getSignature())
+                && equal(expected.iss, actual.iss) && equal(expected.sub, actual.sub) && equal(expected.jti, actual.jti)
+                && expected.exp == actual.exp && expected.nbf == actual.nbf && expected.iat == actual.iat
+                && expected.aud.equals(actual.aud)
+                && expected.allClaims().hasSameValues(actual.allClaims());
+        if (matches) {
+            jwt.stateChecked = true;
+        }
+        return matches;
+    }
+
+    private static boolean equal(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private Engine createEngine(Algorithm algorithm) {
+        try {
+            if (algorithm.fieldSize == 0) {
+                Mac mac = Mac.getInstance(algorithm.jcaName);
+                mac.init(new SecretKeySpec(secret, algorithm.jcaName));
+                return new MacEngine(mac);
+            }
+            Signature signature = Signature.getInstance(algorithm.jcaName);
+            signature.initVerify(publicKey);
+            return algorithm.fieldSize > 0 ? new EcdsaEngine(signature, algorithm.fieldSize) : new SignatureEngine(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(String.format("The %s algorithm isn't available.", algorithm), e);
+        }
+    }
+
+    /**
+     * The algorithms that can be verified, with the name of their JCA implementation.
+     */
+    enum Algorithm {
+        HS256("HmacSHA256", 0),
+        HS384("HmacSHA384", 0),
+        HS512("HmacSHA512", 0),
+        RS256("SHA256withRSA", -1),
+        RS384("SHA384withRSA", -1),
+        RS512("SHA512withRSA", -1),
+        ES256("SHA256withECDSA", 32),
+        ES384("SHA384withECDSA", 48),
+        ES512("SHA512withECDSA", 66);
+
+        final String jcaName;
+        //0 for HMAC, -1 for RSA, or the length in bytes of each half of an ECDSA signature
+        final int fieldSize;
+
+        Algorithm(String jcaName, int fieldSize) {
+            this.jcaName = jcaName;
+            this.fieldSize = fieldSize;
+        }
+
+        static Algorithm forName(String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Algorithm algorithm : ALGORITHMS) {
+                if (algorithm.name().equals(name)) {
+                    return algorithm;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Wraps a Mac or a Signature instance owned by a single thread.
+     */
+    private abstract static class Engine {
+
+        /**
+         * Whether a decoded signature of the given length can be valid, checked before any input is fed.
+         */
+        abstract boolean accepts(int signatureLength);
+
+        abstract void update(byte[] input, int length) throws SignatureException;
+
+        abstract void update(ByteBuffer input) throws SignatureException;
+
+        /**
+         * Completes the verification and resets the engine for the next one.
+         *
+         * @param buffer          the decoded signature, followed by free room the engine can use.
+         * @param signatureLength the length of the decoded signature.
+         */
+        abstract boolean verify(byte[] buffer, int signatureLength) throws SignatureException;
+    }
+
+    private static final class MacEngine extends Engine {
+
+        private final Mac mac;
+
+        MacEngine(Mac mac) {
+            this.mac = mac;
+        }
+
+        @Override
+        boolean accepts(int signatureLength) {
+            return signatureLength == mac.getMacLength();
+        }
+
+        @Override
+        void update(byte[] input, int length) {
+            mac.update(input, 0, length);
+        }
+
+        @Override
+        void update(ByteBuffer input) {
+            mac.update(input);
+        }
+
+        @Override
+        boolean verify(byte[] buffer, int signatureLength) {
+            try {
+                mac.doFinal(buffer, signatureLength);
+            } catch (GeneralSecurityException e) {
+                //The buffer always has room for the HMAC
+                throw new IllegalStateException(e);
+            }
+            //Compare every byte, so the time taken doesn't reveal how much of the signature matched
+            int difference = 0;
+            for (int i = 0; i < signatureLength; i++) {
+                difference |= buffer[i] ^ buffer[signatureLength + i];
+            }
+            return difference == 0;
+        }
+    }
+
+    private static class SignatureEngine extends Engine {
+
+        final Signature signature;
+
+        SignatureEngine(Signature signature) {
+            this.signature = signature;
+        }
+
+        @Override
+        boolean accepts(int signatureLength) {
+            return signatureLength > 0;
+        }
+
+        @Override
+        void update(byte[] input, int length) throws SignatureException {
+            signature.update(input, 0, length);
+        }
+
+        @Override
+        void update(ByteBuffer input) throws SignatureException {
+            signature.update(input);
+        }
+
+        @Override
+        boolean verify(byte[] buffer, int signatureLength) throws SignatureException {
+            return signature.verify(buffer, 0, signatureLength);
+        }
+    }
+
+    /**
+     * JWS signs with ECDSA as the concatenation of the R and S values, while the providers expect them in a DER
+     * sequence, so the signature is converted in the free room of the buffer.
+     */
+    private static final class EcdsaEngine extends SignatureEngine {
+
+        private final int fieldSize;
+
+        EcdsaEngine(Signature signature, int fieldSize) {
+            super(signature);
+            this.fieldSize = fieldSize;
+        }
+
+        @Override
+        boolean accepts(int signatureLength) {
+            return signatureLength == fieldSize * 2;
+        }
+
+        @Override
+        boolean verify(byte[] buffer, int signatureLength) throws SignatureException {
+            int derStart = signatureLength;
+            int derLength = toDer(buffer, fieldSize, derStart);
+            return signature.verify(buffer, derStart, derLength);
+        }
+
+        /**
+         * Writes the R and S values at the start of the buffer as a DER sequence of two integers.
+         *
+         * @return the length of the sequence.
+         */
+        private static int toDer(byte[] buffer, int fieldSize, int out) {
+            int rStart = skipZeros(buffer, 0, fieldSize);
+            int sStart = skipZeros(buffer, fieldSize, fieldSize * 2);
+            //Integers are signed, so a leading byte with the high bit set needs a zero before it. Zero itself is 0x00.
+            int rPadding = rStart == fieldSize || buffer[rStart] < 0 ? 1 : 0;
+            int sPadding = sStart == fieldSize * 2 || buffer[sStart] < 0 ? 1 : 0;
+            int rLength = fieldSize - rStart + rPadding;
+            int sLength = fieldSize * 2 - sStart + sPadding;
+            int contentLength = 2 + rLength + 2 + sLength;
+            int pos = out;
+            buffer[pos++] = 0x30;
+            if (contentLength > 127) {
+                buffer[pos++] = (byte) 0x81;
+            }
+            buffer[pos++] = (byte) contentLength;
+            pos = writeInteger(buffer, pos, rStart, fieldSize, rPadding);
+            pos = writeInteger(buffer, pos, sStart, fieldSize * 2, sPadding);
+            return pos - out;
+        }
+
+        private static int skipZeros(byte[] buffer, int start, int end) {
+            while (start < end && buffer[start] == 0) {
+                start++;
+            }
+            return start;
+        }
+
+        private static int writeInteger(byte[] buffer, int pos, int start, int end, int padding) {
+            buffer[pos++] = 0x02;
+            buffer[pos++] = (byte) (end - start + padding);
+            if (padding == 1) {
+                buffer[pos++] = 0;
+            }
+            System.arraycopy(buffer, start, buffer, pos, end - start);
+            return pos + end - start;
+        }
+    }
+
+    /**
+     * Builder class used to configure a {@link JWTVerifier}.
+     */
+    public static class Builder {
+
+        private byte[] secret;
+        private PublicKey publicKey;
+        private String[] algorithms;
+
+        /**
+         * Set the secret that verifies HS256, HS384 and HS512 signatures.
+         *
+         * @param secret the shared secret.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder secret(@NonNull byte[] secret) {
+            if (secret.length == 0) {
+                throw new IllegalArgumentException("The secret must not be empty.");
+            }
+            this.secret = secret.clone();
+            return this;
+        }
+
+        /**
+         * Set the public key that verifies RS256, RS384 and RS512 signatures when it's an RSA key, or ES256, ES384
+         * and ES512 signatures when it's an EC key.
+         *
+         * @param publicKey the public key.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder publicKey(@NonNull PublicKey publicKey) {
+            if (!(publicKey instanceof RSAPublicKey) && !(publicKey instanceof ECPublicKey)) {
+                throw new IllegalArgumentException("The public key must be an RSA or an EC key.");
+            }
+            this.publicKey = publicKey;
+            return this;
+        }
+
+        /**
+         * Set the algorithms accepted by the verifier, e.g. "RS256". Tokens signed with any other algorithm fail
+         * verification. Defaults to every algorithm the configured keys can verify.
+         *
+         * @param algorithms the names of the accepted algorithms.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder algorithms(@NonNull String... algorithms) {
+            for (String name : algorithms) {
+                if (Algorithm.forName(name) == null) {
+                    throw new IllegalArgumentException(String.format("The algorithm '%s' isn't supported.", name));
+                }
+            }
+            this.algorithms = algorithms.clone();
+            return this;
+        }
+
+        /**
+         * Create a new {@link JWTVerifier} with the configured values.
+         *
+         * @return a new verifier.
+         * @throws IllegalStateException if no key was set, or if an accepted algorithm has no key to verify it.
+         */
+        @NonNull
+        public JWTVerifier build() {
+            if (secret == null && publicKey == null) {
+                throw new IllegalStateException("A secret or a public key is required.");
+            }
+            boolean[] enabled = new boolean[ALGORITHMS.length];
+            if (algorithms == null) {
+                for (Algorithm algorithm : ALGORITHMS) {
+                    enabled[algorithm.ordinal()] = canVerify(algorithm);
+                }
+            } else {
+                for (String name : algorithms) {
+                    Algorithm algorithm = Algorithm.forName(name);
+                    if (!canVerify(algorithm)) {
+                        throw new IllegalStateException(String.format("The %s algorithm requires %s.", algorithm, requiredKey(algorithm)));
+                    }
+                    enabled[algorithm.ordinal()] = true;
+                }
+            }
+            return new JWTVerifier(secret, publicKey, enabled);
+        }
+
+        private boolean canVerify(Algorithm algorithm) {
+            if (algorithm.fieldSize == 0) {
+                return secret != null;
+            }
+            if (algorithm.fieldSize < 0) {
+                return publicKey instanceof RSAPublicKey;
+            }
+            return publicKey instanceof ECPublicKey;
+        }
+
+        private static String requiredKey(Algorithm algorithm) {
+            if (algorithm.fieldSize == 0) {
+                return "a secret";
+            }
+            return algorithm.fieldSize < 0 ? "an RSA public key" : "an EC public key";
+        }
+    }
+}
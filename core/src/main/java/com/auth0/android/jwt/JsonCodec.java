@@ -0,0 +1,165 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JsonCodec class parses the JSON segments of a JWT. Instances are immutable and thread-safe, so a single one
+ * can be shared by every {@link JWTDecoder} that uses it. To plug in another parser, extend this class and
+ * implement {@link #parse(Reader)}: the claims are then read from the returned values. The values are plain Java
+ * types, so a parser can be plugged in without depending on Gson.
+ */
+public abstract class JsonCodec {
+
+    private static final JWTDeserializer DESERIALIZER = new JWTDeserializer();
+
+    protected JsonCodec() {
+    }
+
+    /**
+     * Get the process-wide codec backed by Gson. This is the default codec used to decode a JWT.
+     *
+     * @return the Gson backed codec.
+     */
+    @NonNull
+    public static JsonCodec gson() {
+        return GsonJsonCodec.INSTANCE;
+    }
+
+    /**
+     * Get the codec backed by the built-in minimal JSON parser. It reads the payload straight into the claims of the
+     * JWT, without building a tree of the whole document or initializing any Gson machinery.
+     *
+     * @return the minimal codec.
+     */
+    @NonNull
+    public static JsonCodec minimal() {
+        return MinimalJsonCodec.INSTANCE;
+    }
+
+    /**
+     * Parses the JSON document read from the given Reader into plain Java values: a {@link Map} with String keys for
+     * every object, a {@link List} for every array, and a String, {@link Number}, Boolean or null for every other
+     * value. The iteration order of a Map is the order of the claims returned by the JWT.
+     *
+     * @param json the source of the JSON document.
+     * @return the parsed document.
+     * @throws IOException if the JSON document couldn't be read or had an invalid format.
+     */
+    @Nullable
+    public abstract Object parse(@NonNull Reader json) throws IOException;
+
+    /**
+     * Parses the JSON document read from the given Reader into a Gson tree. By default the document is parsed with
+     * {@link #parse(Reader)} and the returned values are then converted.
+     *
+     * @param json the source of the JSON document.
+     * @return the parsed tree.
+     * @throws IOException if the JSON document couldn't be read or had an invalid format.
+     */
+    JsonElement parseTree(Reader json) throws IOException {
+        Object value = parse(json);
+        try {
+            return toTree(value);
+        } catch (StackOverflowError e) {
+            throw new IOException("The JSON document was nested too deeply", e);
+        }
+    }
+
+    /**
+     * Parses the payload of a JWT read from the given Reader. By default the whole JSON document is parsed with
+     * {@link #parseTree(Reader)} and the registered claims are then read from the tree.
+     *
+     * @param json the source of the payload.
+     * @param pool the pool used to share the string values and the claim names.
+     * @return the parsed payload.
+     * @throws IOException if the JSON document couldn't be read or had an invalid format.
+     */
+    JWTPayload parsePayload(Reader json, StringPool pool) throws IOException {
+        return DESERIALIZER.deserialize(parseTree(json), pool);
+    }
+
+    /**
+     * Converts the plain Java values returned by {@link #parse(Reader)} into a Gson tree.
+     *
+     * @throws IllegalArgumentException if a value has a type that can't be represented in JSON.
+     */
+    static JsonElement toTree(Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        }
+        if (value instanceof String) {
+            return new JsonPrimitive((String) value);
+        }
+        if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        }
+        if (value instanceof Map) {
+            JsonObject object = new JsonObject();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                if (!(e.getKey() instanceof String)) {
+                    throw new IllegalArgumentException("The JSON object had a non String key: " + e.getKey());
+                }
+                object.add((String) e.getKey(), toTree(e.getValue()));
+            }
+            return object;
+        }
+        if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            JsonArray array = new JsonArray(list.size());
+            for (Object item : list) {
+                array.add(toTree(item));
+            }
+            return array;
+        }
+        throw new IllegalArgumentException("The JSON value had an unsupported type: " + value.getClass().getName());
+    }
+
+    /**
+     * Converts a Gson tree into the plain Java values returned by {@link #parse(Reader)}.
+     */
+    static Object toValue(JsonElement tree) {
+        if (tree.isJsonObject()) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> e : tree.getAsJsonObject().entrySet()) {
+                map.put(e.getKey(), toValue(e.getValue()));
+            }
+            return map;
+        }
+        if (tree.isJsonArray()) {
+            JsonArray array = tree.getAsJsonArray();
+            List<Object> list = new ArrayList<>(array.size());
+            for (JsonElement item : array) {
+                list.add(toValue(item));
+            }
+            return list;
+        }
+        if (tree.isJsonNull()) {
+            return null;
+        }
+        JsonPrimitive primitive = tree.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isNumber()) {
+            return primitive.getAsNumber();
+        }
+        return primitive.getAsString();
+    }
+}
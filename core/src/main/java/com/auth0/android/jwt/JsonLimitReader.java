@@ -0,0 +1,95 @@
+package com.auth0.android.jwt;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The JsonLimitReader class passes the text of a JSON segment through while tracking its nesting depth and the
+ * number of members of its root object, so a segment over the limits is rejected before the parser reaches the
+ * offending part. Strings are skipped, so their contents never count. A single instance can be reused by calling
+ * {@link #reset(Reader, String, int, int)}.
+ */
+class JsonLimitReader extends Reader {
+
+    private Reader source;
+    private String segment;
+    private int maxDepth;
+    private int maxMembers;
+
+    private int depth;
+    private int members;
+    //The quote that opened the current string, or 0 outside of strings
+    private char quote;
+    private boolean escaped;
+
+    /**
+     * Starts reading a new segment.
+     *
+     * @param source     the Reader over the JSON text.
+     * @param segment    the name of the segment, used in the error messages.
+     * @param maxDepth   the maximum number of nested arrays and objects.
+     * @param maxMembers the maximum number of members of the root object.
+     * @return this same reader.
+     */
+    JsonLimitReader reset(Reader source, String segment, int maxDepth, int maxMembers) {
+        this.source = source;
+        this.segment = segment;
+        this.maxDepth = maxDepth;
+        this.maxMembers = maxMembers;
+        this.depth = 0;
+        this.members = 0;
+        this.quote = 0;
+        this.escaped = false;
+        return this;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        int count = source.read(cbuf, off, len);
+        for (int i = off; i < off + count; i++) {
+            char c = cbuf[i];
+            if (quote != 0) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            switch (c) {
+                case '"':
+                case '\'':
+                    quote = c;
+                    break;
+                case '{':
+                case '[':
+                    if (++depth > maxDepth) {
+                        throw new DecodeException(DecodeException.Reason.LIMIT_EXCEEDED, String.format("The token's %s is nested deeper than %s levels.", segment, maxDepth));
+                    }
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+                case ':':
+                case '=':
+                    //Lenient parsers also accept '=' and '=>' as name separators
+                    if (depth == 1 && ++members > maxMembers) {
+                        throw new DecodeException(DecodeException.Reason.LIMIT_EXCEEDED, String.format("The token's %s has more than %s claims.", segment, maxMembers));
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+        source = null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * The JsonNumber class holds a JSON number as the text it was written with, and parses it only when one of its
+ * values is requested. Wrapped in a {@link com.google.gson.JsonPrimitive}, it behaves like the numbers of a tree
+ * parsed by Gson: {@code getAsString} returns the original text, so no precision is lost, and it's compared by value
+ * like any non-integral number.
+ */
+final class JsonNumber extends Number {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String value;
+
+    /**
+     * Creates a number from its JSON text.
+     *
+     * @param value the text of the number, as it appears in the JSON.
+     */
+    JsonNumber(@NonNull String value) {
+        this.value = value;
+    }
+
+    @Override
+    public int intValue() {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return (int) longValue();
+        }
+    }
+
+    @Override
+    public long longValue() {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return new BigDecimal(value).longValue();
+        }
+    }
+
+    @Override
+    public float floatValue() {
+        return Float.parseFloat(value);
+    }
+
+    @Override
+    public double doubleValue() {
+        return Double.parseDouble(value);
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof JsonNumber && value.equals(((JsonNumber) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+}
@@ -0,0 +1,502 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The JsonScanner class is a minimal, strict JSON parser that reads directly from a char array.
+ */
+class JsonScanner {
+
+    private final char[] buf;
+    private final int limit;
+    private int pos;
+    private boolean first;
+
+    JsonScanner(char[] buf, int offset, int length) {
+        this.buf = buf;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    /**
+     * Parses the whole input as a single JSON document.
+     *
+     * @return the parsed tree.
+     * @throws IOException if the input is not a valid JSON document.
+     */
+    JsonElement parseDocument() throws IOException {
+        JsonElement value = nextValue();
+        endDocument();
+        return value;
+    }
+
+    /**
+     * Checks that nothing but whitespace is left to read.
+     *
+     * @throws IOException if there are characters left.
+     */
+    void endDocument() throws IOException {
+        if (skipWhitespace()) {
+            throw syntaxError("The JSON document was not fully consumed");
+        }
+    }
+
+    /**
+     * Consumes the opening brace of a JSON object.
+     *
+     * @throws IOException if the next value is not a JSON object.
+     */
+    void beginObject() throws IOException {
+        if (peekClean() != '{') {
+            throw syntaxError("Expected an object");
+        }
+        pos++;
+        first = true;
+    }
+
+    /**
+     * Moves to the next member of the object opened with {@link #beginObject()}, consuming the separator or the
+     * closing brace.
+     *
+     * @return whether there is another member to read.
+     * @throws IOException if the object is malformed.
+     */
+    boolean hasNextMember() throws IOException {
+        char c = peekClean();
+        if (c == '}') {
+            pos++;
+            return false;
+        }
+        if (!first) {
+            if (c != ',') {
+                throw syntaxError("Unterminated object");
+            }
+            pos++;
+            peekClean();
+        }
+        first = false;
+        return true;
+    }
+
+    /**
+     * Consumes the opening bracket of a JSON array.
+     *
+     * @throws IOException if the next value is not a JSON array.
+     */
+    void beginArray() throws IOException {
+        if (peekClean() != '[') {
+            throw syntaxError("Expected an array");
+        }
+        pos++;
+        first = true;
+    }
+
+    /**
+     * Moves to the next element of the array opened with {@link #beginArray()}, consuming the separator or the
+     * closing bracket.
+     *
+     * @return whether there is another element to read.
+     * @throws IOException if the array is malformed.
+     */
+    boolean hasNextElement() throws IOException {
+        char c = peekClean();
+        if (c == ']') {
+            pos++;
+            return false;
+        }
+        if (!first) {
+            if (c != ',') {
+                throw syntaxError("Unterminated array");
+            }
+            pos++;
+            peekClean();
+        }
+        first = false;
+        return true;
+    }
+
+    /**
+     * Get the next character that isn't whitespace, without consuming it.
+     *
+     * @return the next character.
+     * @throws IOException if there is nothing left to read.
+     */
+    char peek() throws IOException {
+        return peekClean();
+    }
+
+    /**
+     * Reads the name of the current object member and its separator.
+     *
+     * @return the member name.
+     * @throws IOException if the name is malformed.
+     */
+    String nextName() throws IOException {
+        if (peekClean() != '"') {
+            throw syntaxError("Expected a name");
+        }
+        String name = nextString();
+        if (peekClean() != ':') {
+            throw syntaxError("Expected ':'");
+        }
+        pos++;
+        skipWhitespace();
+        return name;
+    }
+
+    /**
+     * Get the position of the next character to read.
+     *
+     * @return the current position.
+     */
+    int position() {
+        return pos;
+    }
+
+    /**
+     * Validates and skips the next value without building any object for it. The value is walked without recursion,
+     * so even a deeply nested one can't overflow the stack.
+     *
+     * @throws IOException if the value is malformed.
+     */
+    void skipValue() throws IOException {
+        //The closing character of every container still open, innermost last
+        char[] open = null;
+        int depth = 0;
+        while (true) {
+            char c = peekClean();
+            switch (c) {
+                case '{':
+                    pos++;
+                    if (peekClean() == '}') {
+                        pos++;
+                        break;
+                    }
+                    open = push(open, depth++, '}');
+                    skipName();
+                    continue;
+                case '[':
+                    pos++;
+                    if (peekClean() == ']') {
+                        pos++;
+                        break;
+                    }
+                    open = push(open, depth++, ']');
+                    continue;
+                case '"':
+                    skipString();
+                    break;
+                case 't':
+                    consumeLiteral("true");
+                    break;
+                case 'f':
+                    consumeLiteral("false");
+                    break;
+                case 'n':
+                    consumeLiteral("null");
+                    break;
+                default:
+                    skipNumber();
+            }
+            //A value was completed: consume the separator before the next one, or close its containers
+            while (true) {
+                if (depth == 0) {
+                    return;
+                }
+                char close = open[depth - 1];
+                c = peekClean();
+                pos++;
+                if (c == close) {
+                    depth--;
+                    continue;
+                }
+                if (c != ',') {
+                    throw syntaxError(close == '}' ? "Unterminated object" : "Unterminated array");
+                }
+                if (close == '}') {
+                    skipName();
+                }
+                break;
+            }
+        }
+    }
+
+    private static char[] push(char[] stack, int depth, char close) {
+        if (stack == null) {
+            stack = new char[8];
+        } else if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth] = close;
+        return stack;
+    }
+
+    private void skipName() throws IOException {
+        if (peekClean() != '"') {
+            throw syntaxError("Expected a name");
+        }
+        skipString();
+        if (peekClean() != ':') {
+            throw syntaxError("Expected ':'");
+        }
+        pos++;
+    }
+
+    /**
+     * Reads the next value into a tree.
+     *
+     * @return the parsed tree.
+     * @throws IOException if the value is malformed or nested too deeply to be read.
+     */
+    JsonElement nextValue() throws IOException {
+        int start = pos;
+        try {
+            return readValue();
+        } catch (StackOverflowError e) {
+            pos = start;
+            throw syntaxError("The JSON value was nested too deeply");
+        }
+    }
+
+    private JsonElement readValue() throws IOException {
+        if (!skipWhitespace()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        char c = buf[pos];
+        switch (c) {
+            case '{':
+                return nextObject();
+            case '[':
+                return nextArray();
+            case '"':
+                return new JsonPrimitive(nextString());
+            case 't':
+                consumeLiteral("true");
+                return new JsonPrimitive(Boolean.TRUE);
+            case 'f':
+                consumeLiteral("false");
+                return new JsonPrimitive(Boolean.FALSE);
+            case 'n':
+                consumeLiteral("null");
+                return JsonNull.INSTANCE;
+            default:
+                return new JsonPrimitive(new JsonNumber(nextNumber()));
+        }
+    }
+
+    private JsonObject nextObject() throws IOException {
+        pos++;
+        JsonObject object = new JsonObject();
+        if (peekClean() == '}') {
+            pos++;
+            return object;
+        }
+        while (true) {
+            if (peekClean() != '"') {
+                throw syntaxError("Expected a name");
+            }
+            String name = nextString();
+            if (peekClean() != ':') {
+                throw syntaxError("Expected ':'");
+            }
+            pos++;
+            object.add(name, readValue());
+            char c = peekClean();
+            pos++;
+            if (c == '}') {
+                return object;
+            }
+            if (c != ',') {
+                throw syntaxError("Unterminated object");
+            }
+            skipWhitespace();
+        }
+    }
+
+    private JsonArray nextArray() throws IOException {
+        pos++;
+        JsonArray array = new JsonArray();
+        if (peekClean() == ']') {
+            pos++;
+            return array;
+        }
+        while (true) {
+            array.add(readValue());
+            char c = peekClean();
+            pos++;
+            if (c == ']') {
+                return array;
+            }
+            if (c != ',') {
+                throw syntaxError("Unterminated array");
+            }
+        }
+    }
+
+    private String nextString() throws IOException {
+        int start = ++pos;
+        StringBuilder sb = null;
+        while (pos < limit) {
+            char c = buf[pos++];
+            if (c == '"') {
+                if (sb == null) {
+                    return new String(buf, start, pos - start - 1);
+                }
+                sb.append(buf, start, pos - start - 1);
+                return sb.toString();
+            }
+            if (c == '\\') {
+                if (sb == null) {
+                    sb = new StringBuilder();
+                }
+                sb.append(buf, start, pos - start - 1);
+                sb.append(readEscapeCharacter());
+                start = pos;
+            } else if (c < 0x20) {
+                throw syntaxError("Unescaped control character in string");
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private void skipString() throws IOException {
+        pos++;
+        while (pos < limit) {
+            char c = buf[pos++];
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                readEscapeCharacter();
+            } else if (c < 0x20) {
+                throw syntaxError("Unescaped control character in string");
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private char readEscapeCharacter() throws IOException {
+        if (pos == limit) {
+            throw syntaxError("Unterminated escape sequence");
+        }
+        char escaped = buf[pos++];
+        switch (escaped) {
+            case 'u':
+                if (pos + 4 > limit) {
+                    throw syntaxError("Unterminated escape sequence");
+                }
+                int result = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(buf[pos++], 16);
+                    if (digit == -1) {
+                        throw syntaxError("Invalid unicode escape sequence");
+                    }
+                    result = (result << 4) | digit;
+                }
+                return (char) result;
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case '"':
+            case '\\':
+            case '/':
+                return escaped;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    private String nextNumber() throws IOException {
+        int start = pos;
+        skipNumber();
+        return new String(buf, start, pos - start);
+    }
+
+    private void skipNumber() throws IOException {
+        if (pos < limit && buf[pos] == '-') {
+            pos++;
+        }
+        if (pos < limit && buf[pos] == '0') {
+            pos++;
+        } else if (!skipDigits()) {
+            throw syntaxError("Expected a value");
+        }
+        if (pos < limit && buf[pos] == '.') {
+            pos++;
+            if (!skipDigits()) {
+                throw syntaxError("Malformed number");
+            }
+        }
+        if (pos < limit && (buf[pos] == 'e' || buf[pos] == 'E')) {
+            pos++;
+            if (pos < limit && (buf[pos] == '+' || buf[pos] == '-')) {
+                pos++;
+            }
+            if (!skipDigits()) {
+                throw syntaxError("Malformed number");
+            }
+        }
+    }
+
+    private boolean skipDigits() {
+        int start = pos;
+        while (pos < limit && buf[pos] >= '0' && buf[pos] <= '9') {
+            pos++;
+        }
+        return pos > start;
+    }
+
+    private void consumeLiteral(String literal) throws IOException {
+        int length = literal.length();
+        if (pos + length > limit) {
+            throw syntaxError("Expected a value");
+        }
+        for (int i = 0; i < length; i++) {
+            if (buf[pos + i] != literal.charAt(i)) {
+                throw syntaxError("Expected a value");
+            }
+        }
+        pos += length;
+    }
+
+    private char peekClean() throws IOException {
+        if (!skipWhitespace()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return buf[pos];
+    }
+
+    /**
+     * Moves the position to the next non whitespace character.
+     *
+     * @return whether there are characters left to read.
+     */
+    private boolean skipWhitespace() {
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return true;
+            }
+            pos++;
+        }
+        return false;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at position " + pos);
+    }
+}
@@ -0,0 +1,21 @@
+package com.auth0.android.jwt;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class that claims are converted to with {@link Claim#asObject(Class)}, {@link Claim#asList(Class)} or
+ * {@link Claim#asArray(Class)}. When the {@code jwtdecode-processor} annotation processor is configured, it
+ * generates a {@link ClaimBinder} for the class, which is then used instead of reflection.
+ * <p>
+ * The class must have a non-private constructor without parameters, and its fields must not be private. Fields
+ * are named after the {@code @SerializedName} annotation when present, as with Gson.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface JwtClaims {
+}
@@ -0,0 +1,112 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The LazyClaim class holds the location of a value inside the payload and parses it the first time it's requested.
+ */
+class LazyClaim extends BaseClaim {
+
+    private final char[] json;
+    private final int offset;
+    private final int length;
+    private volatile ClaimImpl claim;
+
+    LazyClaim(char[] json, int offset, int length) {
+        this.json = json;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    boolean isParsed() {
+        return claim != null;
+    }
+
+    String rawJson() {
+        return new String(json, offset, length);
+    }
+
+    ClaimImpl claim() {
+        ClaimImpl result = claim;
+        if (result == null) {
+            try {
+                result = new ClaimImpl(new JsonScanner(json, offset, length).parseDocument());
+            } catch (IOException e) {
+                throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.", e);
+            }
+            claim = result;
+        }
+        return result;
+    }
+
+    /**
+     * Follows the given path through this value. Until this claim is parsed, the path is followed over its text.
+     */
+    Claim select(ClaimPath path) {
+        ClaimImpl result = claim;
+        if (result != null) {
+            return path.select(result.value);
+        }
+        try {
+            return path.select(json, offset, length);
+        } catch (IOException e) {
+            throw new DecodeException(DecodeException.Reason.INVALID_JSON, "The token's payload had an invalid JSON format.", e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public Boolean asBoolean() {
+        return claim().asBoolean();
+    }
+
+    @Nullable
+    @Override
+    public Integer asInt() {
+        return claim().asInt();
+    }
+
+    @Nullable
+    @Override
+    public Long asLong() {
+        return claim().asLong();
+    }
+
+    @Nullable
+    @Override
+    public Double asDouble() {
+        return claim().asDouble();
+    }
+
+    @Nullable
+    @Override
+    public String asString() {
+        return claim().asString();
+    }
+
+    @Nullable
+    @Override
+    public Date asDate() {
+        return claim().asDate();
+    }
+
+    @Override
+    public <T> T[] asArray(Class<T> tClazz) throws DecodeException {
+        return claim().asArray(tClazz);
+    }
+
+    @Override
+    public <T> List<T> asList(Class<T> tClazz) throws DecodeException {
+        return claim().asList(tClazz);
+    }
+
+    @Nullable
+    @Override
+    public <T> T asObject(Class<T> tClazz) throws DecodeException {
+        return claim().asObject(tClazz);
+    }
+}
@@ -0,0 +1,41 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.JsonElement;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * The MinimalJsonCodec class parses JSON with the built-in {@link JsonScanner}. The payload is read straight into a
+ * {@link ClaimStore}, so only the values of the claims are materialized.
+ */
+class MinimalJsonCodec extends JsonCodec {
+
+    static final MinimalJsonCodec INSTANCE = new MinimalJsonCodec();
+
+    private MinimalJsonCodec() {
+    }
+
+    @Nullable
+    @Override
+    public Object parse(@NonNull Reader json) throws IOException {
+        return toValue(parseTree(json));
+    }
+
+    @Override
+    JsonElement parseTree(Reader json) throws IOException {
+        ScratchBuffers buffers = ScratchBuffers.get();
+        int length = buffers.readFully(json);
+        return new JsonScanner(buffers.chars(), 0, length).parseDocument();
+    }
+
+    @Override
+    JWTPayload parsePayload(Reader json, StringPool pool) throws IOException {
+        ScratchBuffers buffers = ScratchBuffers.get();
+        int length = buffers.readFully(json);
+        return JWTDecoder.scanPayload(buffers.chars(), length, pool, null, false);
+    }
+}
@@ -0,0 +1,205 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The PersistentJWTStore class saves decoded tokens to a single file, so they can be loaded again at startup
+ * without decoding them. Each token is stored with its decoded Header, registered claims and claims in a compact
+ * binary layout, and the file is read back through a memory-mapped buffer, so loading doesn't involve any Base64
+ * or JSON work. Every entry carries a checksum: when the decoded part of an entry is damaged or was written in an
+ * unknown layout, its token is decoded again instead. The file is replaced atomically on save. Instances are
+ * thread-safe, but their methods do file I/O, so call them off the main thread.
+ * <p>
+ * The checksum only detects accidental damage. Nothing binds the decoded part of an entry to its token, so whoever
+ * can write the file can change the claims of a loaded token while keeping the original token and its signature.
+ * Don't base security decisions on the claims of loaded tokens: {@link JWTVerifier} decodes them again before it
+ * checks them, and {@link JWTDecoder#decode(String)} can be given their {@code toString()}.
+ */
+public final class PersistentJWTStore {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    //"JWTS"
+    private static final int MAGIC = 0x4A575453;
+    //The layout of the entries: key, token and decoded part
+    private static final int FILE_VERSION = 1;
+    //The layout of the decoded part, which can change without making the tokens unreadable
+    private static final int DECODED_VERSION = 1;
+
+    private final File file;
+    private final JWTDecoder decoder;
+
+    /**
+     * Creates a store backed by the given file. Tokens whose decoded part can't be used are decoded again with the
+     * default decoder.
+     *
+     * @param file the file to save the tokens to.
+     */
+    public PersistentJWTStore(@NonNull File file) {
+        this(file, JWTDecoder.DEFAULT);
+    }
+
+    /**
+     * Creates a store backed by the given file.
+     *
+     * @param file    the file to save the tokens to.
+     * @param decoder the decoder used when the decoded part of a stored token can't be used.
+     */
+    public PersistentJWTStore(@NonNull File file, @NonNull JWTDecoder decoder) {
+        this.file = file;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Replaces the contents of the file with the given tokens. The file is written next to the previous one and
+     * then renamed, so a crash while saving never leaves a partially written file behind.
+     *
+     * @param tokens the tokens to save, by a key of your choice, e.g. the account and the kind of token.
+     * @throws IOException if the file couldn't be written.
+     */
+    public synchronized void save(@NonNull Map<String, ? extends DecodedJWT> tokens) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(FILE_VERSION);
+        out.writeInt(tokens.size());
+        for (Map.Entry<String, ? extends DecodedJWT> e : tokens.entrySet()) {
+            byte[] key = e.getKey().getBytes(UTF_8);
+            byte[] token = e.getValue().toString().getBytes(UTF_8);
+            byte[] decoded = JWTState.encode(e.getValue());
+            writeBytes(out, key);
+            writeBytes(out, token);
+            out.writeInt(checksum(key, token));
+            out.writeByte(DECODED_VERSION);
+            writeBytes(out, decoded);
+            out.writeInt(checksum(decoded, null));
+        }
+        out.flush();
+
+        File temp = new File(file.getPath() + ".tmp");
+        FileOutputStream stream = new FileOutputStream(temp);
+        try {
+            bytes.writeTo(stream);
+            stream.getFD().sync();
+        } finally {
+            stream.close();
+        }
+        if (!temp.renameTo(file)) {
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            throw new IOException("Couldn't replace the file " + file);
+        }
+    }
+
+    /**
+     * Reads the tokens saved in the file. Entries whose key or token is damaged are skipped, and if the file was
+     * truncated, the entries before the damage are returned.
+     *
+     * @return the stored tokens by their key, in the order they were saved, or an empty Map if the file doesn't
+     * exist or isn't a store.
+     * @throws IOException if the file couldn't be read.
+     */
+    @NonNull
+    public synchronized Map<String, DecodedJWT> load() throws IOException {
+        FileInputStream stream;
+        try {
+            stream = new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            return new LinkedHashMap<>();
+        }
+        ByteBuffer buffer;
+        try {
+            FileChannel channel = stream.getChannel();
+            //The mapping stays valid once the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            stream.close();
+        }
+        return read(buffer);
+    }
+
+    Map<String, DecodedJWT> read(ByteBuffer buffer) {
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FILE_VERSION) {
+                return tokens;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] key = readBytes(buffer);
+                byte[] token = readBytes(buffer);
+                int checksum = buffer.getInt();
+                int version = buffer.get();
+                byte[] decoded = readBytes(buffer);
+                int decodedChecksum = buffer.getInt();
+                if (checksum != checksum(key, token)) {
+                    continue;
+                }
+                String value = new String(token, UTF_8);
+                DecodedJWT jwt = null;
+                if (version == DECODED_VERSION && decodedChecksum == checksum(decoded, null)) {
+                    //Bound to the token by nothing but a checksum, so the state isn't trusted as checked
+                    jwt = JWTState.restore(value, decoded, 0, decoded.length, false);
+                }
+                if (jwt == null) {
+                    try {
+                        jwt = decoder.decode(value);
+                    } catch (DecodeException e) {
+                        continue;
+                    }
+                }
+                tokens.put(new String(key, UTF_8), jwt);
+            }
+        } catch (BufferUnderflowException e) {
+            //The file was truncated
+        }
+        return tokens;
+    }
+
+    private static int checksum(byte[] first, @Nullable byte[] second) {
+        CRC32 crc = new CRC32();
+        crc.update(first, 0, first.length);
+        if (second != null) {
+            crc.update(second, 0, second.length);
+        }
+        return (int) crc.getValue();
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] bytes = new byte[readLength(in)];
+        in.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads a length, checking that there are that many bytes left so a damaged length never allocates more.
+     */
+    private static int readLength(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,126 @@
+package com.auth0.android.jwt;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * The ScratchBuffers class holds the per-thread buffers reused across decodes, so decoding a token doesn't allocate
+ * intermediate copies of its segments.
+ */
+class ScratchBuffers {
+
+    private static final int INITIAL_CHARS = 1024;
+    private static final int MAX_RETAINED_CHARS = 16 * 1024;
+    private static final int INITIAL_BYTES = 512;
+    private static final int MAX_RETAINED_BYTES = 16 * 1024;
+
+    private static final ThreadLocal<ScratchBuffers> LOCAL = new ThreadLocal<ScratchBuffers>() {
+        @Override
+        protected ScratchBuffers initialValue() {
+            return new ScratchBuffers();
+        }
+    };
+
+    private final Base64UrlReader reader = new Base64UrlReader();
+    private final JsonLimitReader limitReader = new JsonLimitReader();
+    private char[] chars = new char[INITIAL_CHARS];
+    private byte[] inputBytes = new byte[INITIAL_BYTES];
+    private byte[] signatureBytes = new byte[INITIAL_BYTES];
+
+    private ScratchBuffers() {
+    }
+
+    static ScratchBuffers get() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Get a Reader over the text encoded in the given Base64 URL-safe segment.
+     *
+     * @param source the characters that contain the segment.
+     * @param start  the index of the first character of the segment.
+     * @param end    the index after the last character of the segment.
+     * @return the reused reader for this thread.
+     */
+    Reader base64Reader(CharSequence source, int start, int end) {
+        return reader.reset(source, start, end);
+    }
+
+    /**
+     * Get a Reader that rejects the given JSON text once it's nested deeper or has more root members than allowed.
+     *
+     * @param json       the Reader over the JSON text.
+     * @param segment    the name of the segment, used in the error messages.
+     * @param maxDepth   the maximum number of nested arrays and objects.
+     * @param maxMembers the maximum number of members of the root object.
+     * @return the reused reader for this thread.
+     */
+    Reader limitReader(Reader json, String segment, int maxDepth, int maxMembers) {
+        return limitReader.reset(json, segment, maxDepth, maxMembers);
+    }
+
+    /**
+     * Reads every character left in the given Reader into the scratch array returned by {@link #chars()}.
+     *
+     * @param source the Reader to consume.
+     * @return the number of characters read.
+     * @throws IOException if the Reader couldn't be read.
+     */
+    int readFully(Reader source) throws IOException {
+        if (chars.length > MAX_RETAINED_CHARS) {
+            chars = new char[INITIAL_CHARS];
+        }
+        int length = 0;
+        int read;
+        while ((read = source.read(chars, length, chars.length - length)) != -1) {
+            length += read;
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Get the scratch array filled by the last call to {@link #readFully(Reader)}. Its contents are only valid
+     * until the next decode on this thread.
+     *
+     * @return the scratch array.
+     */
+    char[] chars() {
+        return chars;
+    }
+
+    /**
+     * Get a scratch array for the signing input of a token, with room for at least the given number of bytes. Its
+     * contents are only valid until the next verification on this thread.
+     *
+     * @param length the number of bytes needed.
+     * @return the scratch array.
+     */
+    byte[] inputBytes(int length) {
+        inputBytes = ensure(inputBytes, length);
+        return inputBytes;
+    }
+
+    /**
+     * Get a scratch array for the decoded signature of a token, with room for at least the given number of bytes.
+     * Its contents are only valid until the next verification on this thread.
+     *
+     * @param length the number of bytes needed.
+     * @return the scratch array.
+     */
+    byte[] signatureBytes(int length) {
+        signatureBytes = ensure(signatureBytes, length);
+        return signatureBytes;
+    }
+
+    private static byte[] ensure(byte[] bytes, int length) {
+        if (bytes.length >= length && bytes.length <= MAX_RETAINED_BYTES) {
+            return bytes;
+        }
+        //Grow to fit, or shrink back once an unusually large token is gone
+        return new byte[Math.max(length, INITIAL_BYTES)];
+    }
+}
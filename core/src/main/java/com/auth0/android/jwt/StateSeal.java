@@ -0,0 +1,94 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * The StateSeal class authenticates the decoded state of a token written by this process, e.g. into a Parcel, with
+ * a random key that never leaves it. State read back with a valid seal was encoded here from a token that was
+ * decoded, so it can be trusted without decoding the token again. State written by another process, by an earlier
+ * run of this one or by anyone who altered it fails the check.
+ */
+final class StateSeal {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private StateSeal() {
+    }
+
+    /**
+     * Computes the seal of a token and its encoded state.
+     *
+     * @param token the string JWT token.
+     * @param state the encoded state of the token.
+     * @return the seal, or null if the MAC algorithm isn't available.
+     */
+    @Nullable
+    static byte[] seal(String token, byte[] state) {
+        Mac mac = Key.mac();
+        if (mac == null) {
+            return null;
+        }
+        byte[] bytes = token.getBytes(UTF_8);
+        //The length keeps the boundary between the token and the state from moving
+        mac.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length});
+        mac.update(bytes);
+        return mac.doFinal(state);
+    }
+
+    /**
+     * Checks that the given seal was computed by this process for the token and its encoded state.
+     *
+     * @param token the string JWT token.
+     * @param state the encoded state of the token.
+     * @param seal  the seal read along with the state.
+     * @return whether the seal is valid.
+     */
+    static boolean check(String token, byte[] state, @Nullable byte[] seal) {
+        if (seal == null) {
+            return false;
+        }
+        byte[] expected = seal(token, state);
+        return expected != null && MessageDigest.isEqual(expected, seal);
+    }
+
+    /**
+     * Holds the key of this process, created the first time a seal is needed.
+     */
+    private static class Key {
+
+        private static final SecretKeySpec KEY;
+
+        static {
+            byte[] key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            KEY = new SecretKeySpec(key, ALGORITHM);
+        }
+
+        private static final ThreadLocal<Mac> MAC = new ThreadLocal<Mac>() {
+            @Override
+            protected Mac initialValue() {
+                try {
+                    Mac mac = Mac.getInstance(ALGORITHM);
+                    mac.init(KEY);
+                    return mac;
+                } catch (GeneralSecurityException e) {
+                    return null;
+                }
+            }
+        };
+
+        @Nullable
+        static Mac mac() {
+            return MAC.get();
+        }
+    }
+}
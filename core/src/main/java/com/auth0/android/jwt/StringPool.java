@@ -0,0 +1,70 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.Nullable;
+
+/**
+ * The StringPool class lets decoders share a single instance of the short strings repeated across tokens, like the
+ * issuer, the audience, the Header values and the claim names. It's bounded: each string maps to one of a fixed
+ * number of slots and replaces whatever string was there, so it never holds more than its capacity. Instances are
+ * thread-safe and can be shared by every {@link JWTDecoder} that uses them.
+ */
+public final class StringPool {
+
+    /**
+     * Strings longer than this are rarely repeated, e.g. identifiers, so they are never pooled.
+     */
+    static final int MAX_LENGTH = 64;
+
+    /**
+     * The pool used when none is configured. It returns every string as given.
+     */
+    static final StringPool NONE = new StringPool();
+
+    //Strings are immutable, so reading a slot written by another thread without synchronization is safe
+    private final String[] slots;
+    private final int mask;
+
+    /**
+     * Creates a pool that holds up to the given number of strings. The capacity is rounded up to a power of two.
+     *
+     * @param capacity the maximum number of strings to keep.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public StringPool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity must be positive, but was " + capacity);
+        }
+        int size = Integer.highestOneBit(Math.min(capacity, 1 << 30));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new String[size];
+        this.mask = size - 1;
+    }
+
+    private StringPool() {
+        this.slots = new String[0];
+        this.mask = -1;
+    }
+
+    /**
+     * Get the pooled instance equal to the given string, pooling it when there is none.
+     *
+     * @param value the string to look up.
+     * @return the pooled instance, or the given string if it wasn't pooled.
+     */
+    @Nullable
+    String intern(@Nullable String value) {
+        if (mask < 0 || value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        String pooled = slots[index];
+        if (value.equals(pooled)) {
+            return pooled;
+        }
+        slots[index] = value;
+        return value;
+    }
+}
@@ -0,0 +1,278 @@
+package com.auth0.android.jwt;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The TokenExpiryWatcher class notifies a {@link Listener} when the tokens it watches are about to expire, so they
+ * can be refreshed without polling {@link DecodedJWT#isExpired(long)}. Each token is watched under a key, e.g. the
+ * account it belongs to, and watching a new token under the same key replaces the previous one. The tokens are kept
+ * ordered by the time they are due, so every change costs O(log n), and a single thread sleeps until the earliest
+ * one is due. Instances are thread-safe.
+ */
+public final class TokenExpiryWatcher {
+
+    /**
+     * Callback invoked by a {@link TokenExpiryWatcher}.
+     */
+    public interface Listener {
+
+        /**
+         * Called once for every watched token when its "exp" claim is less than the lead time away. The token stops
+         * being watched before this is called. It's invoked on the thread of the watcher, so it should return
+         * quickly, e.g. by starting the refresh on another thread.
+         *
+         * @param key the key the token was watched under.
+         * @param jwt the token that is about to expire.
+         */
+        void onExpiring(@NonNull String key, @NonNull DecodedJWT jwt);
+    }
+
+    private final Listener listener;
+    private final long leadTimeMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> schedule = new TreeSet<>();
+
+    private long sequence;
+    private Thread thread;
+    private boolean shutdown;
+
+    private TokenExpiryWatcher(Builder builder, Listener listener) {
+        this.listener = listener;
+        this.leadTimeMillis = builder.leadTimeMillis;
+        this.clock = builder.clock;
+    }
+
+    /**
+     * Watch the given token under the given key, replacing the token previously watched under it. A token without
+     * an "exp" claim never expires, so it only stops watching the previous one. A token that is already due is
+     * notified right away.
+     *
+     * @param key the key to watch the token under.
+     * @param jwt the token to watch.
+     * @throws IllegalStateException if the watcher was shut down.
+     */
+    public void watch(@NonNull String key, @NonNull DecodedJWT jwt) {
+        long exp = jwt.getExpiresAtEpochSeconds();
+        synchronized (this) {
+            if (shutdown) {
+                throw new IllegalStateException("The watcher was shut down.");
+            }
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                schedule.remove(previous);
+            }
+            if (exp == JWTPayload.NO_TIME) {
+                return;
+            }
+            Entry entry = new Entry(key, jwt, dueTime(exp), sequence++);
+            entries.put(key, entry);
+            schedule.add(entry);
+            if (schedule.first() == entry) {
+                //The thread may be sleeping until a later token
+                if (thread == null) {
+                    start();
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Stop watching the token watched under the given key.
+     *
+     * @param key the key the token was watched under.
+     * @return the token that was watched, or null if there was none.
+     */
+    @Nullable
+    public synchronized DecodedJWT unwatch(@NonNull String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        schedule.remove(entry);
+        return entry.jwt;
+    }
+
+    /**
+     * Get the token watched under the given key.
+     *
+     * @param key the key the token was watched under.
+     * @return the watched token, or null if there is none.
+     */
+    @Nullable
+    public synchronized DecodedJWT get(@NonNull String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.jwt;
+    }
+
+    /**
+     * Get the number of watched tokens.
+     *
+     * @return the number of watched tokens.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stop watching every token and stop the thread of this watcher. Pending notifications are not delivered.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        entries.clear();
+        schedule.clear();
+        notifyAll();
+    }
+
+    /**
+     * Makes the thread check the schedule again, e.g. after a test moved its clock forward.
+     */
+    @VisibleForTesting
+    synchronized void wakeUp() {
+        notifyAll();
+    }
+
+    private long dueTime(long exp) {
+        long expMillis = JWTPayload.toMillis(exp);
+        return expMillis < Long.MIN_VALUE + leadTimeMillis ? Long.MIN_VALUE : expMillis - leadTimeMillis;
+    }
+
+    private void start() {
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                loop();
+            }
+        }, "JWT-expiry-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void loop() {
+        while (true) {
+            Entry due = nextDue();
+            if (due == null) {
+                return;
+            }
+            try {
+                listener.onExpiring(due.key, due.jwt);
+            } catch (RuntimeException e) {
+                //Keep watching the other tokens
+                Thread current = Thread.currentThread();
+                current.getUncaughtExceptionHandler().uncaughtException(current, e);
+            }
+        }
+    }
+
+    /**
+     * Waits until the earliest token is due and stops watching it.
+     *
+     * @return the due token, or null once the watcher was shut down.
+     */
+    @Nullable
+    private synchronized Entry nextDue() {
+        while (!shutdown) {
+            long delay = Long.MAX_VALUE;
+            if (!schedule.isEmpty()) {
+                Entry first = schedule.first();
+                long now = clock.currentTimeMillis();
+                //Compared before subtracting, as a due time far in the past would overflow the delay
+                if (first.dueTime <= now) {
+                    schedule.pollFirst();
+                    entries.remove(first.key);
+                    return first;
+                }
+                delay = first.dueTime - now;
+            }
+            try {
+                if (delay == Long.MAX_VALUE) {
+                    wait();
+                } else {
+                    wait(delay);
+                }
+            } catch (InterruptedException e) {
+                //Only a shutdown stops the thread
+            }
+        }
+        return null;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final String key;
+        final DecodedJWT jwt;
+        final long dueTime;
+        //Orders the tokens due at the same time, so no two entries compare as equal
+        final long sequence;
+
+        Entry(String key, DecodedJWT jwt, long dueTime, long sequence) {
+            this.key = key;
+            this.jwt = jwt;
+            this.dueTime = dueTime;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            if (dueTime != other.dueTime) {
+                return dueTime < other.dueTime ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : sequence == other.sequence ? 0 : 1;
+        }
+    }
+
+    /**
+     * Builder class used to configure a {@link TokenExpiryWatcher}.
+     */
+    public static class Builder {
+
+        private long leadTimeMillis;
+        private Clock clock = Clock.SYSTEM;
+
+        /**
+         * Set how long before the "exp" claim of a token the listener is notified. Defaults to 0, which notifies
+         * the listener once the token has expired.
+         *
+         * @param leadTimeMillis the lead time in milliseconds.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder leadTimeMillis(long leadTimeMillis) {
+            if (leadTimeMillis < 0) {
+                throw new IllegalArgumentException("The lead time must be a positive value.");
+            }
+            this.leadTimeMillis = leadTimeMillis;
+            return this;
+        }
+
+        /**
+         * Set the clock used to decide when a token is due. Defaults to {@link Clock#SYSTEM}.
+         *
+         * @param clock the clock to use.
+         * @return this same builder instance.
+         */
+        @NonNull
+        public Builder clock(@NonNull Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /**
+         * Create a new {@link TokenExpiryWatcher} with the configured values. Its thread is started when the first
+         * token is watched.
+         *
+         * @param listener the listener to notify.
+         * @return a new watcher.
+         */
+        @NonNull
+        public TokenExpiryWatcher build(@NonNull Listener listener) {
+            return new TokenExpiryWatcher(this, listener);
+        }
+    }
+}
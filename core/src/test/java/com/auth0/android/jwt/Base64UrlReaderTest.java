@@ -0,0 +1,92 @@
+package com.auth0.android.jwt;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.nio.charset.Charset;
+import java.util.Base64;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class Base64UrlReaderTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void shouldReadAscii() {
+        assertThat(read(encode("{\"alg\":\"HS256\"}"), 1024), is("{\"alg\":\"HS256\"}"));
+    }
+
+    @Test
+    public void shouldReadEveryRemainderLength() {
+        assertThat(read(encode("a"), 1024), is("a"));
+        assertThat(read(encode("ab"), 1024), is("ab"));
+        assertThat(read(encode("abc"), 1024), is("abc"));
+    }
+
+    @Test
+    public void shouldReadMultiByteCharacters() {
+        String text = "{\"name\":\"Jos\u00e9 \u20ac \ud83d\ude00\"}";
+        assertThat(read(encode(text), 1024), is(text));
+    }
+
+    @Test
+    public void shouldReadSurrogatePairsWithSingleCharBuffer() {
+        String text = "\ud83d\ude00x\ud83d\ude01";
+        assertThat(read(encode(text), 1), is(text));
+    }
+
+    @Test
+    public void shouldIgnorePadding() {
+        assertThat(read("YQ==", 1024), is("a"));
+        assertThat(read("YWI=", 1024), is("ab"));
+    }
+
+    @Test
+    public void shouldReadStandardAlphabet() {
+        String text = "\u00ff\u00fe\u00fd";
+        String encoded = encode(text);
+        assertThat(read(encoded.replace('-', '+').replace('_', '/'), 1024), is(text));
+    }
+
+    @Test
+    public void shouldReplaceMalformedSequences() {
+        byte[] bytes = new byte[]{'a', (byte) 0xC3, 'b', (byte) 0xFF, (byte) 0xE2, (byte) 0x82};
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        assertThat(read(encoded, 1024), is("a\ufffdb\ufffd\ufffd"));
+    }
+
+    @Test
+    public void shouldThrowOnInvalidLength() {
+        exception.expect(DecodeException.class);
+        exception.expectMessage("Received bytes didn't correspond to a valid Base64 encoded string.");
+        new Base64UrlReader().reset("thisIsNot", 0, 9);
+    }
+
+    @Test
+    public void shouldThrowOnInvalidCharacter() {
+        exception.expect(DecodeException.class);
+        exception.expectMessage("Received bytes didn't correspond to a valid Base64 encoded string.");
+        read("ab.d", 1024);
+    }
+
+    private static String read(String encoded, int bufferSize) {
+        Base64UrlReader reader = new Base64UrlReader().reset(encoded, 0, encoded.length());
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+            sb.append(buffer, 0, read);
+        }
+        return sb.toString();
+    }
+
+    private static String encode(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(UTF_8));
+    }
+}
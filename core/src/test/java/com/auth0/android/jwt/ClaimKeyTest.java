@@ -0,0 +1,127 @@
+package com.auth0.android.jwt;
+
+import org.junit.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClaimKeyTest {
+
+    private static final String PAYLOAD = "{\"sub\":\"emails\",\"auth_time\":1583409600,\"count\":42,\"big\":123456789012345678," +
+            "\"ratio\":0.75,\"admin\":true,\"guest\":false,\"nothing\":null,\"text\":\"17\",\"roles\":[\"admin\",\"user\"]," +
+            "\"profile\":{\"name\":\"john\",\"id\":3},\"exponent\":1e3,\"zero\":-0}";
+
+    private static final String[] NAMES = {"sub", "auth_time", "count", "big", "ratio", "admin", "guest", "nothing",
+            "roles", "profile", "exponent", "zero", "missing"};
+
+    @Test
+    public void shouldReadLikeTheClaim() {
+        for (DecodedJWT jwt : decodeEveryWay(PAYLOAD)) {
+            for (String name : NAMES) {
+                assertReadsLike(jwt, ClaimKey.booleanValue(name), "asBoolean");
+                assertReadsLike(jwt, ClaimKey.longValue(name), "asLong");
+                assertReadsLike(jwt, ClaimKey.intValue(name), "asInt");
+                assertReadsLike(jwt, ClaimKey.doubleValue(name), "asDouble");
+                assertReadsLike(jwt, ClaimKey.string(name), "asString");
+                assertReadsLike(jwt, ClaimKey.date(name), "asDate");
+                assertReadsLike(jwt, ClaimKey.epochSeconds(name), "asLong");
+                assertReadsLike(jwt, ClaimKey.stringList(name), "asList", String.class);
+                assertReadsLike(jwt, ClaimKey.object(name, Object.class), "asObject", Object.class);
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadTypedValues() {
+        DecodedJWT jwt = new DecodedJWT(token(PAYLOAD));
+        assertThat(jwt.get(ClaimKey.epochSeconds("auth_time")), is(1583409600L));
+        assertThat(jwt.get(ClaimKey.date("auth_time")), is(new Date(1583409600000L)));
+        assertThat(jwt.get(ClaimKey.string("text")), is("17"));
+        assertThat(jwt.get(ClaimKey.intValue("text")), is(17));
+        assertThat(jwt.get(ClaimKey.stringList("roles")), is(Arrays.asList("admin", "user")));
+        assertThat(jwt.get(ClaimKey.object("profile", Map.class)).get("name"), is((Object) "john"));
+    }
+
+    @Test
+    public void shouldReuseTheConvertedValues() {
+        DecodedJWT jwt = new DecodedJWT(token(PAYLOAD));
+        ClaimKey<List<String>> roles = ClaimKey.stringList("roles");
+        assertThat(jwt.get(roles), is(sameInstance(jwt.get(roles))));
+        assertThat(jwt.get(roles), is(sameInstance(jwt.getClaim("roles").asList(String.class))));
+    }
+
+    @Test
+    public void shouldShareTheValuesOfMissingClaims() {
+        DecodedJWT jwt = new DecodedJWT(token(PAYLOAD));
+        assertThat(jwt.get(ClaimKey.string("missing")), is(nullValue()));
+        assertThat(jwt.get(ClaimKey.stringList("missing")), is(sameInstance(Collections.<String>emptyList())));
+        assertThat(jwt.getClaim("missing"), is(sameInstance((Claim) BaseClaim.MISSING)));
+        assertThat(jwt.getClaim(ClaimPath.compile("missing.value")), is(sameInstance((Claim) BaseClaim.MISSING)));
+    }
+
+    @Test
+    public void shouldFindClaimsAcrossTokensWithDifferentLayouts() {
+        ClaimKey<String> key = ClaimKey.string("sub");
+        DecodedJWT first = new DecodedJWT(token("{\"a\":1,\"b\":2,\"sub\":\"first\"}"));
+        DecodedJWT second = new DecodedJWT(token("{\"sub\":\"second\"}"));
+        DecodedJWT third = new DecodedJWT(token("{\"a\":1,\"b\":2,\"c\":3,\"sub\":\"third\"}"));
+        DecodedJWT empty = new DecodedJWT(token("{}"));
+        for (int i = 0; i < 2; i++) {
+            assertThat(first.get(key), is("first"));
+            assertThat(second.get(key), is("second"));
+            assertThat(third.get(key), is("third"));
+            assertThat(empty.get(key), is(nullValue()));
+        }
+        assertThat(key.getName(), is("sub"));
+    }
+
+    /**
+     * Checks that the key returns the same value, or throws the same exception, as the given method of the Claim.
+     */
+    private static void assertReadsLike(DecodedJWT jwt, ClaimKey<?> key, String method, Class<?>... arguments) {
+        String reason = key + " read like " + method;
+        Object expected;
+        try {
+            expected = Claim.class.getMethod(method, arguments.length == 0 ? new Class<?>[0] : new Class<?>[]{Class.class})
+                    .invoke(jwt.getClaim(key.getName()), (Object[]) arguments);
+        } catch (InvocationTargetException e) {
+            expected = e.getCause().getClass();
+        } catch (ReflectiveOperationException e) {
+            throw new AssertionError(e);
+        }
+        Object actual;
+        try {
+            actual = jwt.get(key);
+        } catch (RuntimeException e) {
+            actual = e.getClass();
+        }
+        assertThat(reason, actual, is(expected));
+    }
+
+    private static DecodedJWT[] decodeEveryWay(String payload) {
+        String token = token(payload);
+        return new DecodedJWT[]{
+                new DecodedJWT(token),
+                new JWTDecoder.Builder().lazyClaims(true).build().decode(token),
+                new JWTDecoder.Builder().jsonCodec(JsonCodec.minimal()).build().decode(token)
+        };
+    }
+
+    private static String token(String payload) {
+        return encode("{\"alg\":\"HS256\"}") + "." + encode(payload) + ".signature";
+    }
+
+    private static String encode(String json) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(Charset.forName("UTF-8")));
+    }
+}
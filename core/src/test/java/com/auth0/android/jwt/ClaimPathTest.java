@@ -0,0 +1,112 @@
+package com.auth0.android.jwt;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ClaimPathTest {
+
+    private static final String PAYLOAD = "{\"sub\":\"emails\",\"https://example.com/app_metadata\":" +
+            "{\"plan\":{\"tier\":\"gold\",\"seats\":25,\"tier\":\"platinum\"},\"flags\":[\"a\",{\"b\":[true,null]}],\"a~b\":1,\"\":2}," +
+            "\"address\":{\"street\":\"Main\",\"0\":\"zero\"}}";
+
+    private final DecodedJWT eager = new DecodedJWT(token(PAYLOAD));
+    private final DecodedJWT lazy = new JWTDecoder.Builder().lazyClaims(true).build().decode(token(PAYLOAD));
+
+    @Test
+    public void shouldFollowDottedPaths() {
+        for (DecodedJWT jwt : new DecodedJWT[]{eager, lazy}) {
+            assertThat(jwt.getClaim(ClaimPath.compile("address.street")).asString(), is("Main"));
+            assertThat(jwt.getClaim(ClaimPath.compile("address.0")).asString(), is("zero"));
+            assertThat(jwt.getClaim(ClaimPath.compile("sub")).asString(), is("emails"));
+        }
+    }
+
+    @Test
+    public void shouldFollowJsonPointers() {
+        for (DecodedJWT jwt : new DecodedJWT[]{eager, lazy}) {
+            assertThat(jwt.getClaim(ClaimPath.compile("/https:~1~1example.com~1app_metadata/plan/seats")).asInt(), is(25));
+            assertThat(jwt.getClaim(ClaimPath.compile("/https:~1~1example.com~1app_metadata/a~0b")).asInt(), is(1));
+            assertThat(jwt.getClaim(ClaimPath.compile("/https:~1~1example.com~1app_metadata/")).asInt(), is(2));
+            assertThat(jwt.getClaim(ClaimPath.of("https://example.com/app_metadata", "flags", "1", "b", "0")).asBoolean(), is(true));
+        }
+    }
+
+    @Test
+    public void shouldKeepTheLastRepeatedMember() {
+        ClaimPath path = ClaimPath.of("https://example.com/app_metadata", "plan", "tier");
+        assertThat(eager.getClaim(path).asString(), is("platinum"));
+        assertThat(lazy.getClaim(path).asString(), is("platinum"));
+    }
+
+    @Test
+    public void shouldFollowPathsOfParsedLazyClaims() {
+        DecodedJWT jwt = new JWTDecoder.Builder().lazyClaims(true).build().decode(token(PAYLOAD));
+        LazyClaim claim = (LazyClaim) jwt.getClaim("address");
+        assertThat(jwt.getClaim(ClaimPath.compile("address.street")).asString(), is("Main"));
+        assertThat(claim.isParsed(), is(false));
+        claim.asObject(Object.class);
+        assertThat(jwt.getClaim(ClaimPath.compile("address.street")).asString(), is("Main"));
+    }
+
+    @Test
+    public void shouldReturnBaseClaimForMissingValues() {
+        String[] paths = {"missing", "missing.value", "sub.value", "address.street.value", "address.other",
+                "/https:~1~1example.com~1app_metadata/flags/2", "/https:~1~1example.com~1app_metadata/flags/01",
+                "/https:~1~1example.com~1app_metadata/flags/x"};
+        for (DecodedJWT jwt : new DecodedJWT[]{eager, lazy}) {
+            for (String path : paths) {
+                Claim claim = jwt.getClaim(ClaimPath.compile(path));
+                assertThat(path, claim, is(instanceOf(BaseClaim.class)));
+                assertThat(path, claim, is(not(instanceOf(ClaimImpl.class))));
+                assertThat(claim.asString(), is(nullValue()));
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnNullValues() {
+        ClaimPath path = ClaimPath.compile("/https:~1~1example.com~1app_metadata/flags/1/b/1");
+        assertThat(eager.getClaim(path), is(instanceOf(ClaimImpl.class)));
+        assertThat(lazy.getClaim(path), is(instanceOf(ClaimImpl.class)));
+        assertThat(lazy.getClaim(path).asString(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldCompareBySegments() {
+        assertThat(ClaimPath.compile("address.street"), is(ClaimPath.compile("/address/street")));
+        assertThat(ClaimPath.compile("address.street"), is(ClaimPath.of("address", "street")));
+        assertThat(ClaimPath.compile("address.street").hashCode(), is(ClaimPath.of("address", "street").hashCode()));
+        assertThat(ClaimPath.of("a/b", "c~d").toString(), is("/a~1b/c~0d"));
+        assertThat(ClaimPath.compile("/a~1b/c~0d"), is(ClaimPath.of("a/b", "c~d")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptyExpressions() {
+        ClaimPath.compile("");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptyDottedSegments() {
+        ClaimPath.compile("address..street");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidEscapes() {
+        ClaimPath.compile("/address/~2");
+    }
+
+    private static String token(String payload) {
+        return encode("{\"alg\":\"HS256\"}") + "." + encode(payload) + ".signature";
+    }
+
+    private static String encode(String json) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,116 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+public class ClaimStoreTest {
+
+    private static final String PAYLOAD = "{\"iss\":\"https://samples.auth0.com/\",\"sub\":\"auth0|5d4c2a1b9f3e7a0c8b6d1e2f\"," +
+            "\"aud\":[\"https://api.example.com\",\"YqDLFUS0dzl8eLLzLGYv3bGhoEq1MO0F\"],\"iat\":1572006954,\"exp\":1572093354," +
+            "\"nbf\":1572006954,\"jti\":\"a1b2c3d4\",\"azp\":\"YqDLFUS0dzl8eLLzLGYv3bGhoEq1MO0F\"," +
+            "\"scope\":\"openid profile email\",\"gty\":\"password\",\"email_verified\":true,\"auth_time\":1572006950," +
+            "\"org_id\":\"org_8f7e6d5c\",\"ratio\":1.5,\"nonce\":null,\"roles\":[\"admin\",\"user\"],\"profile\":{\"name\":\"john\",\"id\":3}}";
+
+    @Test
+    public void shouldSortNamesAndKeepTheLastDuplicate() {
+        ClaimStore store = new ClaimStore.Builder()
+                .add("b", new JsonPrimitive("first"))
+                .add("a", new JsonPrimitive(1))
+                .add("b", new JsonPrimitive("second"))
+                .build();
+
+        assertThat(store.size(), is(2));
+        assertThat(store.keySet(), contains("a", "b"));
+        assertThat(store.get("b").asString(), is("second"));
+        assertThat(store.containsKey("a"), is(true));
+        assertThat(store.containsKey("c"), is(false));
+        assertThat(store.get("c"), is(nullValue()));
+        assertThat(store.get(1), is(nullValue()));
+    }
+
+    @Test
+    public void shouldConvertCompactValuesLikeTheirJson() {
+        ClaimStore store = build(PAYLOAD);
+        JsonElement tree = JsonParser.parseString(PAYLOAD);
+
+        for (Map.Entry<String, JsonElement> e : tree.getAsJsonObject().entrySet()) {
+            Claim claim = store.get(e.getKey());
+            assertThat(e.getKey(), ((ClaimImpl) claim).value, is(e.getValue()));
+            if (e.getValue().isJsonPrimitive()) {
+                assertThat(claim.asString(), is(e.getValue().getAsString()));
+            }
+        }
+        assertThat(store.get("exp").asLong(), is(1572093354L));
+        assertThat(store.get("exp").asDate().getTime(), is(1572093354000L));
+        assertThat(store.get("ratio").asDouble(), is(1.5));
+        assertThat(store.get("email_verified").asBoolean(), is(true));
+        assertThat(store.get("nonce").asString(), is(nullValue()));
+        assertThat(store.get("profile").asObject(Object.class), is(instanceOf(Map.class)));
+    }
+
+    @Test
+    public void shouldKeepNonCanonicalNumbersAsText() {
+        ClaimStore store = build("{\"a\":1.0,\"b\":-0,\"c\":12345678901234567890,\"d\":-42}");
+        assertThat(store.get("a").asString(), is("1.0"));
+        assertThat(store.get("b").asString(), is("-0"));
+        assertThat(store.get("c").asString(), is("12345678901234567890"));
+        assertThat(store.get("d").asLong(), is(-42L));
+    }
+
+    @Test
+    public void shouldShareTheClaimOfArraysAndObjects() {
+        ClaimStore store = build(PAYLOAD);
+        assertThat(store.get("roles"), is(sameInstance(store.get("roles"))));
+        assertThat(store.get("roles").asList(String.class), is(sameInstance(store.get("roles").asList(String.class))));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotBeModifiable() {
+        build(PAYLOAD).put("iss", new BaseClaim());
+    }
+
+    @Test
+    public void shouldStoreValuesWithoutWrappers() throws Exception {
+        ClaimStore store = build(PAYLOAD);
+        Object[] values = (Object[]) field(store, "values");
+        long[] longs = (long[]) field(store, "longs");
+
+        //No per-entry nodes, no JSON wrappers and no boxed integers: only arrays and objects keep a Claim
+        int claims = 0;
+        for (Object value : values) {
+            assertThat(value instanceof Map.Entry || value instanceof JsonElement || value instanceof Long, is(false));
+            claims += value instanceof Claim ? 1 : 0;
+        }
+        assertThat(claims, is(3));
+        assertThat(values.length, is(store.size()));
+        assertThat(longs[Arrays.asList(store.keySet().toArray()).indexOf("exp")], is(1572093354L));
+    }
+
+    private static Object field(ClaimStore store, String name) throws Exception {
+        Field field = ClaimStore.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(store);
+    }
+
+    private static ClaimStore build(String json) {
+        ClaimStore.Builder builder = new ClaimStore.Builder();
+        for (Map.Entry<String, JsonElement> e : JsonParser.parseString(json).getAsJsonObject().entrySet()) {
+            builder.add(e.getKey(), e.getValue());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,223 @@
+package com.auth0.android.jwt;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class DecodeAsyncTest {
+
+    private final DecodeMetrics metrics = new DecodeMetrics();
+    private final JWTDecoder decoder = new JWTDecoder.Builder().listener(metrics).build();
+    private final QueueExecutor worker = new QueueExecutor();
+    private final QueueExecutor callbacks = new QueueExecutor();
+
+    @Test
+    public void shouldShareASingleDecode() {
+        String token = token("{\"sub\":\"emails\"}");
+        Results results = new Results();
+        decoder.decodeAsync(token, worker, callbacks, results);
+        decoder.decodeAsync(token, worker, callbacks, results);
+        decoder.decodeAsync(token, worker, callbacks, results);
+        assertThat(worker.tasks.size(), is(1));
+
+        worker.runAll();
+        assertThat(metrics.getDecodedCount(), is(1L));
+        assertThat(results.decoded.isEmpty(), is(true));
+
+        callbacks.runAll();
+        assertThat(results.decoded.size(), is(3));
+        assertThat(results.decoded.get(0).getSubject(), is("emails"));
+        assertThat(results.decoded.get(1), is(sameInstance(results.decoded.get(0))));
+        assertThat(results.decoded.get(2), is(sameInstance(results.decoded.get(0))));
+    }
+
+    @Test
+    public void shouldDecodeAgainOnceFinished() {
+        String token = token("{\"sub\":\"emails\"}");
+        Results results = new Results();
+        decoder.decodeAsync(token, worker, callbacks, results);
+        worker.runAll();
+        decoder.decodeAsync(token, worker, callbacks, results);
+        worker.runAll();
+        callbacks.runAll();
+        assertThat(metrics.getDecodedCount(), is(2L));
+        assertThat(results.decoded.size(), is(2));
+    }
+
+    @Test
+    public void shouldDecodeDifferentTokensSeparately() {
+        Results results = new Results();
+        decoder.decodeAsync(token("{\"sub\":\"first\"}"), worker, callbacks, results);
+        decoder.decodeAsync(token("{\"sub\":\"second\"}"), worker, callbacks, results);
+        assertThat(worker.tasks.size(), is(2));
+        worker.runAll();
+        callbacks.runAll();
+        assertThat(results.decoded.get(0).getSubject(), is("first"));
+        assertThat(results.decoded.get(1).getSubject(), is("second"));
+    }
+
+    @Test
+    public void shouldShareTheFailure() {
+        Results results = new Results();
+        decoder.decodeAsync("two.parts", worker, callbacks, results);
+        decoder.decodeAsync("two.parts", worker, callbacks, results);
+        worker.runAll();
+        callbacks.runAll();
+        assertThat(results.failures.size(), is(2));
+        assertThat(results.failures.get(0).getReason(), is(DecodeException.Reason.MALFORMED_TOKEN));
+        assertThat(results.failures.get(1), is(sameInstance(results.failures.get(0))));
+        assertThat(results.decoded.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldShareUnexpectedExceptions() {
+        final IllegalStateException thrown = new IllegalStateException("listener");
+        JWTDecoder throwing = new JWTDecoder.Builder().listener(new DecodeListener() {
+            @Override
+            public void onDecoded(int headerLength, int payloadLength, int signatureLength, int claimCount) {
+                throw thrown;
+            }
+        }).build();
+        String token = token("{\"sub\":\"emails\"}");
+        Results results = new Results();
+        throwing.decodeAsync(token, worker, callbacks, results);
+        throwing.decodeAsync(token, worker, callbacks, results);
+        worker.runAll();
+        callbacks.runAll();
+
+        assertThat(results.failures.size(), is(2));
+        assertThat(results.failures.get(0).getReason(), is(DecodeException.Reason.UNEXPECTED_ERROR));
+        assertThat(results.failures.get(0).getCause(), is(sameInstance((Throwable) thrown)));
+        assertThat(results.failures.get(1), is(sameInstance(results.failures.get(0))));
+    }
+
+    @Test
+    public void shouldDeliverErrorsBeforeRethrowingThem() {
+        final StackOverflowError thrown = new StackOverflowError();
+        final AtomicBoolean armed = new AtomicBoolean(true);
+        JWTDecoder throwing = new JWTDecoder.Builder().listener(new DecodeListener() {
+            @Override
+            public void onDecoded(int headerLength, int payloadLength, int signatureLength, int claimCount) {
+                if (armed.getAndSet(false)) {
+                    throw thrown;
+                }
+            }
+        }).build();
+        String token = token("{\"sub\":\"emails\"}");
+        Results results = new Results();
+        throwing.decodeAsync(token, worker, callbacks, results);
+        throwing.decodeAsync(token, worker, callbacks, results);
+        try {
+            worker.runAll();
+            fail();
+        } catch (StackOverflowError e) {
+            assertThat(e, is(sameInstance(thrown)));
+        }
+        callbacks.runAll();
+
+        assertThat(results.failures.size(), is(2));
+        assertThat(results.failures.get(0).getCause(), is(sameInstance((Throwable) thrown)));
+
+        //The failed decode was forgotten, so the token can be decoded again
+        throwing.decodeAsync(token, worker, callbacks, results);
+        worker.runAll();
+        callbacks.runAll();
+        assertThat(results.decoded.size(), is(1));
+    }
+
+    @Test
+    public void shouldDecodeOnTheCallingThreadIfRejected() {
+        Results results = new Results();
+        Executor rejecting = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        };
+        decoder.decodeAsync(token("{\"sub\":\"emails\"}"), rejecting, rejecting, results);
+        assertThat(results.decoded.size(), is(1));
+    }
+
+    @Test
+    public void shouldDecodeOnWorkerThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final String token = token("{\"sub\":\"emails\"}");
+            final CountDownLatch done = new CountDownLatch(100);
+            final List<DecodedJWT> decoded = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                DecodedJWT.decodeAsync(token, executor, new DecodeCallback() {
+                    @Override
+                    public void onSuccess(DecodedJWT jwt) {
+                        synchronized (decoded) {
+                            decoded.add(jwt);
+                        }
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onFailure(DecodeException error) {
+                        done.countDown();
+                    }
+                });
+            }
+            assertThat(done.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(decoded.size(), is(100));
+            assertThat(decoded.get(99).getSubject(), is("emails"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class QueueExecutor implements Executor {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.remove(0).run();
+            }
+        }
+    }
+
+    private static class Results implements DecodeCallback {
+        final List<DecodedJWT> decoded = new ArrayList<>();
+        final List<DecodeException> failures = new ArrayList<>();
+
+        @Override
+        public void onSuccess(DecodedJWT jwt) {
+            decoded.add(jwt);
+        }
+
+        @Override
+        public void onFailure(DecodeException error) {
+            failures.add(error);
+        }
+    }
+
+    private static String token(String payload) {
+        return encode("{\"alg\":\"HS256\"}") + "." + encode(payload) + ".signature";
+    }
+
+    private static String encode(String json) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.auth0.android.jwt;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JWTCacheTest {
+
+    private static final String TOKEN_A = JWTDecoderTest.token("{\"sub\":\"a\"}");
+    private static final String TOKEN_B = JWTDecoderTest.token("{\"sub\":\"b\"}");
+    private static final String TOKEN_C = JWTDecoderTest.token("{\"sub\":\"c\"}");
+
+    @Test
+    public void shouldReturnTheSameInstanceOnHit() {
+        JWTCache cache = new JWTCache.Builder().build();
+        DecodedJWT first = cache.get(TOKEN_A);
+        DecodedJWT second = cache.get(TOKEN_A);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(first.getSubject(), is("a"));
+        assertThat(cache.hitCount(), is(1L));
+        assertThat(cache.missCount(), is(1L));
+        assertThat(cache.size(), is(1));
+        assertThat(cache.byteSize(), is((long) TOKEN_A.length()));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedByEntries() {
+        JWTCache cache = new JWTCache.Builder()
+                .maxEntries(2)
+                .build();
+        DecodedJWT a = cache.get(TOKEN_A);
+        cache.get(TOKEN_B);
+        cache.get(TOKEN_A);
+        cache.get(TOKEN_C);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.evictionCount(), is(1L));
+        assertThat(cache.get(TOKEN_A), is(sameInstance(a)));
+        assertThat(cache.missCount(), is(3L));
+        cache.get(TOKEN_B);
+        assertThat(cache.missCount(), is(4L));
+    }
+
+    @Test
+    public void shouldEvictByBytes() {
+        JWTCache cache = new JWTCache.Builder()
+                .maxBytes(TOKEN_A.length() + TOKEN_B.length())
+                .build();
+        cache.get(TOKEN_A);
+        cache.get(TOKEN_B);
+        cache.get(TOKEN_C);
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.evictionCount(), is(1L));
+        assertThat(cache.byteSize(), is((long) TOKEN_B.length() + TOKEN_C.length()));
+    }
+
+    @Test
+    public void shouldNotCacheTokensLongerThanMaxBytes() {
+        JWTCache cache = new JWTCache.Builder()
+                .maxBytes(TOKEN_A.length() + TOKEN_B.length())
+                .build();
+        DecodedJWT a = cache.get(TOKEN_A);
+        cache.get(TOKEN_B);
+        String oversized = JWTDecoderTest.token("{\"sub\":\"" + new String(new char[TOKEN_A.length() + TOKEN_B.length()]).replace('\0', 'x') + "\"}");
+        DecodedJWT first = cache.get(oversized);
+        DecodedJWT second = cache.get(oversized);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(cache.size(), is(2));
+        assertThat(cache.evictionCount(), is(0L));
+        assertThat(cache.byteSize(), is((long) TOKEN_A.length() + TOKEN_B.length()));
+        assertThat(cache.get(TOKEN_A), is(sameInstance(a)));
+    }
+
+    @Test
+    public void shouldDropExpiredTokens() {
+        String expired = JWTDecoderTest.token("{\"exp\":1000}");
+        JWTCache cache = new JWTCache.Builder().build();
+        DecodedJWT first = cache.get(expired);
+        DecodedJWT second = cache.get(expired);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(cache.expiredCount(), is(1L));
+        cache.evictExpired();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.expiredCount(), is(2L));
+    }
+
+    @Test
+    public void shouldKeepExpiredTokensIfConfigured() {
+        String expired = JWTDecoderTest.token("{\"exp\":1000}");
+        JWTCache cache = new JWTCache.Builder()
+                .evictExpired(false)
+                .build();
+        DecodedJWT first = cache.get(expired);
+
+        assertThat(cache.get(expired), is(sameInstance(first)));
+        assertThat(cache.expiredCount(), is(0L));
+    }
+
+    @Test
+    public void shouldUseGivenClockToDropExpiredTokens() {
+        String token = JWTDecoderTest.token("{\"exp\":1000}");
+        JWTCache cache = new JWTCache.Builder()
+                .clock(new Clock() {
+                    @Override
+                    public long currentTimeMillis() {
+                        return 999999L;
+                    }
+                })
+                .build();
+        DecodedJWT first = cache.get(token);
+
+        assertThat(cache.get(token), is(sameInstance(first)));
+        assertThat(cache.expiredCount(), is(0L));
+    }
+
+    @Test
+    public void shouldClear() {
+        JWTCache cache = new JWTCache.Builder().build();
+        cache.get(TOKEN_A);
+        cache.clear();
+
+        assertThat(cache.size(), is(0));
+        assertThat(cache.byteSize(), is(0L));
+    }
+
+    @Test
+    public void shouldDecodeCached() {
+        DecodedJWT jwt = DecodedJWT.decodeCached(TOKEN_C);
+        assertThat(DecodedJWT.decodeCached(TOKEN_C), is(sameInstance(jwt)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowHeaderChanges() {
+        DecodedJWT.decodeCached(TOKEN_A).getHeader().put("alg", "none");
+    }
+}
@@ -0,0 +1,453 @@
+package com.auth0.android.jwt;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInAnyOrder.containsInAnyOrder;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.hamcrest.core.IsInstanceOf.instanceOf;
+import static org.junit.Assert.fail;
+
+public class JWTDecoderTest {
+
+    private static final String PAYLOAD = "{\"iss\":\"auth0\",\"sub\":\"emails\",\"aud\":[\"users\",\"admins\"],\"exp\":11111111," +
+            "\"roles\":[\"admin\",\"user\"],\"profile\":{\"name\":\"john\",\"id\":3,\"tags\":[{},[]]},\"count\":42,\"text\":\"a\\\"}b\"}";
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void shouldDecodeRegisteredClaimsLazily() {
+        DecodedJWT jwt = lazyDecoder().decode(token(PAYLOAD));
+        assertThat(jwt.getIssuer(), is("auth0"));
+        assertThat(jwt.getSubject(), is("emails"));
+        assertThat(jwt.getAudience(), contains("users", "admins"));
+        assertThat(jwt.getExpiresAt().getTime(), is(11111111L * 1000));
+        assertThat(jwt.getClaim("iss").asString(), is("auth0"));
+    }
+
+    @Test
+    public void shouldDecodePrivateClaimsOnFirstAccess() {
+        DecodedJWT jwt = lazyDecoder().decode(token(PAYLOAD));
+        Claim roles = jwt.getClaim("roles");
+        assertThat(roles, is(instanceOf(LazyClaim.class)));
+        assertThat(roles.asList(String.class), contains("admin", "user"));
+        assertThat(((LazyClaim) roles).claim(), is(sameInstance(((LazyClaim) roles).claim())));
+        assertThat(jwt.getClaim("count").asInt(), is(42));
+        assertThat(jwt.getClaim("text").asString(), is("a\"}b"));
+        assertThat(jwt.getClaim("profile").asObject(Map.class).get("name"), is((Object) "john"));
+        assertThat(jwt.getClaim("missing").asString(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldListEveryClaimLazily() {
+        DecodedJWT jwt = lazyDecoder().decode(token(PAYLOAD));
+        Map<String, Claim> claims = jwt.getClaims();
+        assertThat(claims.size(), is(8));
+        assertThat(claims.get("profile"), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldThrowIfLazyPayloadHasInvalidJSONFormat() {
+        exception.expect(DecodeException.class);
+        exception.expectMessage("The token's payload had an invalid JSON format.");
+        lazyDecoder().decode(token("{\"roles\":[\"admin\",}"));
+    }
+
+    @Test
+    public void shouldThrowIfLazyPayloadHasTrailingData() {
+        exception.expect(DecodeException.class);
+        exception.expectMessage("The token's payload had an invalid JSON format.");
+        lazyDecoder().decode("eyJhbGciOiJIUzI1NiJ9.e30ijfe923.XmNK3GpH3Ys_7lyQ");
+    }
+
+    @Test
+    public void shouldKeepOnlyProjectedClaims() {
+        JWTDecoder decoder = new JWTDecoder.Builder()
+                .onlyClaims("sub", "exp", "roles", "missing")
+                .build();
+        DecodedJWT jwt = decoder.decode(token(PAYLOAD));
+        assertThat(jwt.getSubject(), is("emails"));
+        assertThat(jwt.getExpiresAtEpochSeconds(), is(11111111L));
+        assertThat(jwt.getIssuer(), is(nullValue()));
+        assertThat(jwt.getAudience(), is(Collections.<String>emptyList()));
+        assertThat(jwt.getClaim("roles").asList(String.class), contains("admin", "user"));
+        assertThat(jwt.getClaim("profile").asString(), is(nullValue()));
+        assertThat(jwt.getClaims().keySet(), containsInAnyOrder("sub", "exp", "roles"));
+    }
+
+    @Test
+    public void shouldKeepOnlyProjectedClaimsLazily() {
+        JWTDecoder decoder = new JWTDecoder.Builder()
+                .onlyClaims("iss", "profile")
+                .lazyClaims(true)
+                .build();
+        DecodedJWT jwt = decoder.decode(token(PAYLOAD));
+        assertThat(jwt.getIssuer(), is("auth0"));
+        assertThat(jwt.getClaim("profile"), is(instanceOf(LazyClaim.class)));
+        assertThat(jwt.getClaim("profile").asObject(Map.class).get("id"), is((Object) 3.0));
+        assertThat(jwt.getClaims().size(), is(2));
+    }
+
+    @Test
+    public void shouldShareRepeatedStringsThroughThePool() {
+        StringPool pool = new StringPool(1024);
+        JWTDecoder[] decoders = new JWTDecoder[]{
+                new JWTDecoder.Builder().stringPool(pool).build(),
+                new JWTDecoder.Builder().stringPool(pool).jsonCodec(JsonCodec.minimal()).build(),
+                new JWTDecoder.Builder().stringPool(pool).lazyClaims(true).build()
+        };
+        DecodedJWT first = decoders[0].decode(token(PAYLOAD));
+        for (JWTDecoder decoder : decoders) {
+            DecodedJWT second = decoder.decode(token(PAYLOAD.replace("\"count\":42", "\"count\":7")));
+            assertThat(second.getIssuer(), is(sameInstance(first.getIssuer())));
+            assertThat(second.getSubject(), is(sameInstance(first.getSubject())));
+            assertThat(second.getAudience().get(1), is(sameInstance(first.getAudience().get(1))));
+            assertThat(second.getHeader().get("alg"), is(sameInstance(first.getHeader().get("alg"))));
+            assertThat(second.getHeader().keySet().iterator().next(), is(sameInstance(first.getHeader().keySet().iterator().next())));
+            assertThat(second.getClaim("iss").asString(), is(sameInstance(first.getIssuer())));
+            assertThat(second.getClaims().keySet().iterator().next(), is(sameInstance(first.getClaims().keySet().iterator().next())));
+        }
+    }
+
+    @Test
+    public void shouldNotShareStringsByDefault() {
+        DecodedJWT first = new DecodedJWT(token(PAYLOAD));
+        DecodedJWT second = new DecodedJWT(token(PAYLOAD));
+        assertThat(second.getIssuer(), is(not(sameInstance(first.getIssuer()))));
+    }
+
+    @Test
+    public void shouldValidateSkippedValues() {
+        JWTDecoder decoder = new JWTDecoder.Builder()
+                .onlyClaims("sub")
+                .build();
+        exception.expect(DecodeException.class);
+        exception.expectMessage("The token's payload had an invalid JSON format.");
+        decoder.decode(token("{\"sub\":\"emails\",\"roles\":[\"admin\",}"));
+    }
+
+    @Test
+    public void shouldDecodeAllInInputOrder() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tokens.add(i % 7 == 0 ? "not.a" : token("{\"sub\":\"" + i + "\"}"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<DecodeResult> results = new JWTDecoder.Builder().build().decodeAll(tokens, executor);
+
+            assertThat(results.size(), is(500));
+            for (int i = 0; i < 500; i++) {
+                DecodeResult result = results.get(i);
+                assertThat(result.getToken(), is(tokens.get(i)));
+                if (i % 7 == 0) {
+                    assertThat(result.isSuccess(), is(false));
+                    assertThat(result.getJWT(), is(nullValue()));
+                    assertThat(result.getError().getReason(), is(DecodeException.Reason.MALFORMED_TOKEN));
+                } else {
+                    assertThat(result.isSuccess(), is(true));
+                    assertThat(result.getError(), is(nullValue()));
+                    assertThat(result.getJWT().getSubject(), is(String.valueOf(i)));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldDecodeAllOnCallingThreadIfExecutorRejects() {
+        Executor rejecting = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException();
+            }
+        };
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tokens.add(token("{\"sub\":\"" + i + "\"}"));
+        }
+
+        List<DecodeResult> results = DecodedJWT.decodeAll(tokens, rejecting);
+
+        assertThat(results.size(), is(200));
+        assertThat(results.get(199).getJWT().getSubject(), is("199"));
+    }
+
+    @Test
+    public void shouldDecodeAllFromAThreadOfTheSameExecutor() throws Exception {
+        final List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tokens.add(token("{\"sub\":\"" + i + "\"}"));
+        }
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<DecodeResult>> results = executor.submit(new Callable<List<DecodeResult>>() {
+                @Override
+                public List<DecodeResult> call() {
+                    return DecodedJWT.decodeAll(tokens, executor);
+                }
+            });
+            assertThat(results.get(10, TimeUnit.SECONDS).get(499).getJWT().getSubject(), is("499"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldDecodeAllWhenSubmittedWorkersNeverRun() {
+        final List<Runnable> queued = new ArrayList<>();
+        Executor saturated = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                queued.add(command);
+            }
+        };
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            tokens.add(token("{\"sub\":\"" + i + "\"}"));
+        }
+
+        List<DecodeResult> results = DecodedJWT.decodeAll(tokens, saturated);
+
+        assertThat(results.get(499).getJWT().getSubject(), is("499"));
+        //Workers that run late find no block left
+        for (Runnable worker : queued) {
+            worker.run();
+        }
+    }
+
+    @Test
+    public void shouldKeepDecodingAllAfterAnUnexpectedException() {
+        JWTDecoder decoder = new JWTDecoder.Builder()
+                .listener(new DecodeListener() {
+                    @Override
+                    public void onDecoded(int headerLength, int payloadLength, int signatureLength, int claimCount) {
+                        if (claimCount == 2) {
+                            throw new IllegalStateException("Listener failure");
+                        }
+                    }
+                })
+                .build();
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(i % 10 == 0 ? token("{\"sub\":\"" + i + "\",\"admin\":true}") : token("{\"sub\":\"" + i + "\"}"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<DecodeResult> results;
+        try {
+            results = decoder.decodeAll(tokens, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int i = 0; i < 100; i++) {
+            DecodeResult result = results.get(i);
+            if (i % 10 == 0) {
+                assertThat(result.getError().getReason(), is(DecodeException.Reason.UNEXPECTED_ERROR));
+                assertThat(result.getError().getCause().getMessage(), is("Listener failure"));
+            } else {
+                assertThat(result.getJWT().getSubject(), is(String.valueOf(i)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldDecodeAllEmpty() {
+        List<DecodeResult> results = DecodedJWT.decodeAll(Collections.<String>emptyList(), Executors.newSingleThreadExecutor());
+        assertThat(results.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldReportFailureReasons() {
+        assertThat(reasonOf("two.parts"), is(DecodeException.Reason.MALFORMED_TOKEN));
+        assertThat(reasonOf("thisIsNot.Base64_Enc.oded"), is(DecodeException.Reason.INVALID_BASE64));
+        assertThat(reasonOf(token("{\"a\":")), is(DecodeException.Reason.INVALID_JSON));
+    }
+
+    @Test
+    public void shouldNotLimitTheDefaultDecoder() {
+        StringBuilder json = new StringBuilder("{\"a\":");
+        for (int i = 0; i < 64; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < 64; i++) {
+            json.append(']');
+        }
+        for (int i = 0; i < 2000; i++) {
+            json.append(",\"c").append(i).append("\":").append(i);
+        }
+        String token = token(json.append('}').toString());
+
+        assertThat(new DecodedJWT(token).getClaims().size(), is(2001));
+        assertThat(JWTDecoder.DEFAULT.decode(token).getClaim("c1999").asInt(), is(1999));
+        assertThat(lazyDecoder().decode(token).getClaim("a").asList(Object.class).size(), is(1));
+    }
+
+    @Test
+    public void shouldRejectTokensLongerThanTheLimit() {
+        String token = token(PAYLOAD);
+        JWTDecoder decoder = new JWTDecoder.Builder().maxTokenLength(token.length()).build();
+        assertThat(decoder.decode(token).getIssuer(), is("auth0"));
+
+        exception.expect(DecodeException.class);
+        exception.expectMessage(String.format("The token is %s characters long, but at most %s are allowed.", token.length() + 1, token.length()));
+        decoder.decode(token + "x");
+    }
+
+    @Test
+    public void shouldRejectSegmentsLongerThanTheLimit() {
+        JWTDecoder decoder = new JWTDecoder.Builder().maxSegmentLength(20).build();
+        assertThat(decoder.decode(token("{\"a\":1}")).getClaim("a").asInt(), is(1));
+        assertThat(limitErrorOf(decoder, token("{\"abcdefghij\":1234}")), is("The token's payload is 26 characters long, but at most 20 are allowed."));
+        assertThat(limitErrorOf(decoder, token("{}") + "_much_too_long"), is("The token's signature is 23 characters long, but at most 20 are allowed."));
+        assertThat(limitErrorOf(decoder, encodeString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}") + ".e30.sig"), is("The token's Header is 36 characters long, but at most 20 are allowed."));
+    }
+
+    @Test
+    public void shouldRejectPayloadsNestedDeeperThanTheLimit() {
+        JWTDecoder decoder = new JWTDecoder.Builder().maxDepth(4).build();
+        assertThat(decoder.decode(token("{\"a\":[{\"b\":[]}]}")), is(notNullValue()));
+        assertThat(limitErrorOf(decoder, token("{\"a\":[{\"b\":[[]]}]}")), is("The token's payload is nested deeper than 4 levels."));
+        assertThat(limitErrorOf(new JWTDecoder.Builder().maxDepth(1).build(), token("{\"a\":{}}")), is("The token's payload is nested deeper than 1 levels."));
+    }
+
+    @Test
+    public void shouldRejectHeadersNestedDeeperThanTheLimit() {
+        JWTDecoder decoder = new JWTDecoder.Builder().maxDepth(1).build();
+        String token = encodeString("{\"alg\":[]}") + "." + encodeString("{}") + ".signature";
+        assertThat(limitErrorOf(decoder, token), is("The token's Header is nested deeper than 1 levels."));
+    }
+
+    @Test
+    public void shouldRejectDeeplyNestedPayloadsWithEveryCodec() {
+        StringBuilder json = new StringBuilder("{\"a\":");
+        for (int i = 0; i < 100000; i++) {
+            json.append('[');
+        }
+        String token = token(json.toString());
+        String message = "The token's payload is nested deeper than 32 levels.";
+        assertThat(limitErrorOf(new JWTDecoder.Builder().maxDepth(32).build(), token), is(message));
+        assertThat(limitErrorOf(new JWTDecoder.Builder().lazyClaims(true).maxDepth(32).build(), token), is(message));
+        assertThat(limitErrorOf(new JWTDecoder.Builder().jsonCodec(JsonCodec.minimal()).maxDepth(32).build(), token), is(message));
+    }
+
+    @Test
+    public void shouldReadDeeplyNestedPayloadsWithoutLimitsAsInvalidJson() {
+        StringBuilder json = new StringBuilder("{\"sub\":\"users\",\"a\":");
+        for (int i = 0; i < 100000; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < 100000; i++) {
+            json.append(']');
+        }
+        String token = token(json.append('}').toString());
+        JWTDecoder[] decoders = new JWTDecoder[]{
+                JWTDecoder.DEFAULT,
+                new JWTDecoder.Builder().jsonCodec(JsonCodec.minimal()).build(),
+                new JWTDecoder.Builder().onlyClaims("sub", "a").build()
+        };
+        for (JWTDecoder decoder : decoders) {
+            assertThat(reasonOf(decoder, token), is(DecodeException.Reason.INVALID_JSON));
+        }
+
+        //Skipped values are walked without recursion
+        assertThat(new JWTDecoder.Builder().onlyClaims("sub").build().decode(token).getSubject(), is("users"));
+        DecodedJWT lazy = new JWTDecoder.Builder().lazyClaims(true).build().decode(token);
+        assertThat(lazy.getSubject(), is("users"));
+        try {
+            lazy.getClaim("a").asList(Object.class);
+            fail();
+        } catch (DecodeException e) {
+            assertThat(e.getReason(), is(DecodeException.Reason.INVALID_JSON));
+        }
+    }
+
+    @Test
+    public void shouldNotCountStringContentsTowardsTheLimits() {
+        JWTDecoder decoder = new JWTDecoder.Builder().maxDepth(1).maxClaims(1).build();
+        DecodedJWT jwt = decoder.decode(token("{\"a\":\"'[{\\\":\\\\\"}"));
+        assertThat(jwt.getClaim("a").asString(), is("'[{\":\\"));
+    }
+
+    @Test
+    public void shouldRejectPayloadsWithMoreClaimsThanTheLimit() {
+        JWTDecoder decoder = new JWTDecoder.Builder().maxClaims(2).build();
+        DecodedJWT jwt = decoder.decode(token("{\"a\":{\"b\":1,\"c\":2,\"d\":3},\"e\":[{\"f\":4}]}"));
+        assertThat(jwt.getClaims().size(), is(2));
+        assertThat(limitErrorOf(decoder, token("{\"a\":1,\"b\":2,\"c\":3}")), is("The token's payload has more than 2 claims."));
+        assertThat(limitErrorOf(decoder, token("{\"a\":1,\"a\":2,\"a\":3}")), is("The token's payload has more than 2 claims."));
+    }
+
+    @Test
+    public void shouldRejectNonPositiveLimits() {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max depth must be a positive value.");
+        new JWTDecoder.Builder().maxDepth(0);
+    }
+
+    private static String limitErrorOf(JWTDecoder decoder, String token) {
+        try {
+            decoder.decode(token);
+        } catch (DecodeException e) {
+            assertThat(e.getReason(), is(DecodeException.Reason.LIMIT_EXCEEDED));
+            return e.getMessage();
+        }
+        throw new AssertionError("The token was decoded");
+    }
+
+    private static DecodeException.Reason reasonOf(String token) {
+        try {
+            new DecodedJWT(token);
+        } catch (DecodeException e) {
+            return e.getReason();
+        }
+        throw new AssertionError("The token was decoded");
+    }
+
+    private static DecodeException.Reason reasonOf(JWTDecoder decoder, String token) {
+        try {
+            decoder.decode(token);
+        } catch (DecodeException e) {
+            return e.getReason();
+        }
+        throw new AssertionError("The token was decoded");
+    }
+
+    private static JWTDecoder lazyDecoder() {
+        return new JWTDecoder.Builder()
+                .lazyClaims(true)
+                .build();
+    }
+
+    static String token(String payload) {
+        return encodeString("{\"alg\":\"HS256\"}") + "." + encodeString(payload) + ".signature";
+    }
+
+    private static String encodeString(String source) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(source.getBytes(Charset.forName("UTF-8")));
+    }
+}
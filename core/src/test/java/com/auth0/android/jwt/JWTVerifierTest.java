@@ -0,0 +1,310 @@
+package com.auth0.android.jwt;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JWTVerifierTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final byte[] SECRET = "a shared secret that is long enough".getBytes(UTF_8);
+    private static final String PAYLOAD = "{\"sub\":\"emails\",\"roles\":[\"admin\"]}";
+
+    private final JWTVerifier hmacVerifier = new JWTVerifier.Builder().secret(SECRET).build();
+
+    @Test
+    public void shouldVerifyHmacSignatures() throws Exception {
+        assertThat(hmacVerifier.verify(new DecodedJWT(hmacToken("HS256", "HmacSHA256", PAYLOAD))), is(true));
+        assertThat(hmacVerifier.verify(new DecodedJWT(hmacToken("HS384", "HmacSHA384", PAYLOAD))), is(true));
+        assertThat(hmacVerifier.verify(new DecodedJWT(hmacToken("HS512", "HmacSHA512", PAYLOAD))), is(true));
+    }
+
+    @Test
+    public void shouldRejectTamperedTokens() throws Exception {
+        String token = hmacToken("HS256", "HmacSHA256", PAYLOAD);
+        String[] parts = token.split("\\.");
+        String otherPayload = parts[0] + "." + encode("{\"sub\":\"admin\",\"roles\":[\"admin\"]}") + "." + parts[2];
+        assertThat(hmacVerifier.verify(new DecodedJWT(otherPayload)), is(false));
+
+        char last = parts[2].charAt(0);
+        String otherSignature = parts[0] + "." + parts[1] + "." + (last == 'A' ? 'B' : 'A') + parts[2].substring(1);
+        assertThat(hmacVerifier.verify(new DecodedJWT(otherSignature)), is(false));
+
+        JWTVerifier otherSecret = new JWTVerifier.Builder().secret("another secret".getBytes(UTF_8)).build();
+        assertThat(otherSecret.verify(new DecodedJWT(token)), is(false));
+        //The engine is reset after a failed verification
+        assertThat(hmacVerifier.verify(new DecodedJWT(token)), is(true));
+    }
+
+    @Test
+    public void shouldRejectMissingOrMalformedSignatures() throws Exception {
+        String token = hmacToken("HS256", "HmacSHA256", PAYLOAD);
+        String input = token.substring(0, token.lastIndexOf('.'));
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + ".")), is(false));
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + ".not*base64")), is(false));
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + "." + encode("short"))), is(false));
+        assertThat(hmacVerifier.verify(new DecodedJWT(encode("{\"alg\":\"none\"}") + "." + encode(PAYLOAD) + ".")), is(false));
+        assertThat(hmacVerifier.verify(new DecodedJWT(encode("{\"typ\":\"JWT\"}") + "." + encode(PAYLOAD) + ".c2ln")), is(false));
+    }
+
+    @Test
+    public void shouldVerifyRsaSignatures() throws Exception {
+        KeyPair keys = keyPair("RSA", 2048);
+        JWTVerifier verifier = new JWTVerifier.Builder().publicKey(keys.getPublic()).build();
+        String rs256 = signedToken("RS256", "SHA256withRSA", keys.getPrivate(), PAYLOAD, false);
+        assertThat(verifier.verify(new DecodedJWT(rs256)), is(true));
+        assertThat(verifier.verify(new DecodedJWT(signedToken("RS512", "SHA512withRSA", keys.getPrivate(), PAYLOAD, false))), is(true));
+        assertThat(verifier.verify(new DecodedJWT(rs256.replace(encode(PAYLOAD), encode("{}")))), is(false));
+
+        JWTVerifier otherKey = new JWTVerifier.Builder().publicKey(keyPair("RSA", 2048).getPublic()).build();
+        assertThat(otherKey.verify(new DecodedJWT(rs256)), is(false));
+    }
+
+    @Test
+    public void shouldVerifyEcdsaSignatures() throws Exception {
+        KeyPair p256 = keyPair("EC", 256);
+        JWTVerifier verifier = new JWTVerifier.Builder().publicKey(p256.getPublic()).build();
+        //Enough signatures for R and S values with leading zeros and high bits set
+        for (int i = 0; i < 200; i++) {
+            String token = signedToken("ES256", "SHA256withECDSA", p256.getPrivate(), "{\"n\":" + i + "}", true);
+            assertThat(token, verifier.verify(new DecodedJWT(token)), is(true));
+        }
+        String token = signedToken("ES256", "SHA256withECDSA", p256.getPrivate(), PAYLOAD, true);
+        assertThat(verifier.verify(new DecodedJWT(token.replace(encode(PAYLOAD), encode("{}")))), is(false));
+        //A DER signature isn't accepted in place of the JWS one
+        assertThat(verifier.verify(new DecodedJWT(signedToken("ES256", "SHA256withECDSA", p256.getPrivate(), PAYLOAD, false))), is(false));
+
+        KeyPair p384 = keyPair("EC", 384);
+        assertThat(new JWTVerifier.Builder().publicKey(p384.getPublic()).build()
+                .verify(new DecodedJWT(signedToken("ES384", "SHA384withECDSA", p384.getPrivate(), PAYLOAD, true))), is(true));
+        KeyPair p521 = keyPair("EC", 521);
+        assertThat(new JWTVerifier.Builder().publicKey(p521.getPublic()).build()
+                .verify(new DecodedJWT(signedToken("ES512", "SHA512withECDSA", p521.getPrivate(), PAYLOAD, true))), is(true));
+    }
+
+    @Test
+    public void shouldOnlyAcceptTheConfiguredAlgorithms() throws Exception {
+        KeyPair keys = keyPair("RSA", 2048);
+        String rs256 = signedToken("RS256", "SHA256withRSA", keys.getPrivate(), PAYLOAD, false);
+        String hs256 = hmacToken("HS256", "HmacSHA256", PAYLOAD);
+        JWTVerifier verifier = new JWTVerifier.Builder().secret(SECRET).publicKey(keys.getPublic()).algorithms("RS256").build();
+        assertThat(verifier.verify(new DecodedJWT(rs256)), is(true));
+        assertThat(verifier.verify(new DecodedJWT(hs256)), is(false));
+
+        //A public key is never used as an HMAC secret
+        JWTVerifier rsaOnly = new JWTVerifier.Builder().publicKey(keys.getPublic()).build();
+        assertThat(rsaOnly.verify(new DecodedJWT(hs256)), is(false));
+    }
+
+    @Test
+    public void shouldVerifyTokensDecodedFromBytes() throws Exception {
+        byte[] bytes = ("xx" + hmacToken("HS256", "HmacSHA256", PAYLOAD) + "yy").getBytes(UTF_8);
+        assertThat(hmacVerifier.verify(DecodedJWT.decode(bytes, 2, bytes.length - 4)), is(true));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.position(2);
+        direct.limit(bytes.length - 2);
+        assertThat(hmacVerifier.verify(DecodedJWT.decode(direct)), is(true));
+        assertThat(direct.position(), is(2));
+        assertThat(hmacVerifier.verify(DecodedJWT.decode(new StringBuilder(hmacToken("HS512", "HmacSHA512", PAYLOAD)))), is(true));
+    }
+
+    @Test
+    public void shouldRejectRewrittenSignatureEncodings() throws Exception {
+        //Find a signature with both URL-safe characters, so each can be rewritten to its standard Base64 form
+        String token = null;
+        for (int i = 0; token == null || !token.substring(token.lastIndexOf('.')).matches(".*-.*_.*|.*_.*-.*"); i++) {
+            token = hmacToken("HS256", "HmacSHA256", "{\"sub\":\"emails\",\"n\":" + i + "}");
+        }
+        assertThat(hmacVerifier.verify(new DecodedJWT(token)), is(true));
+        int dot = token.lastIndexOf('.') + 1;
+        String input = token.substring(0, dot);
+        String signature = token.substring(dot);
+
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + signature.replace('-', '+'))), is(false));
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + signature.replace('_', '/'))), is(false));
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + signature + "=")), is(false));
+        //The last of the 43 characters carries 2 unused bits, which must stay zero
+        char last = signature.charAt(signature.length() - 1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        char rewritten = alphabet.charAt(alphabet.indexOf(last) | 1);
+        assertThat(hmacVerifier.verify(new DecodedJWT(input + signature.substring(0, signature.length() - 1) + rewritten)), is(false));
+    }
+
+    @Test
+    public void shouldVerifyRestoredTokens() throws Exception {
+        DecodedJWT jwt = new DecodedJWT(hmacToken("HS256", "HmacSHA256", PAYLOAD));
+        DecodedJWT restored = JWTFactory.INSTANCE.create(jwt.toString(), jwt.getHeader(), jwt.payload, jwt.getSignature(), true);
+        assertThat(hmacVerifier.verify(restored), is(true));
+    }
+
+    @Test
+    public void shouldDecodeAgainRestoredTokensThatWereNotChecked() throws Exception {
+        DecodedJWT jwt = new DecodedJWT(hmacToken("HS256", "HmacSHA256", PAYLOAD));
+        DecodedJWT restored = JWTFactory.INSTANCE.create(jwt.toString(), jwt.getHeader(), jwt.payload, jwt.getSignature(), false);
+        assertThat(hmacVerifier.verify(restored), is(true));
+        assertThat(restored.stateChecked, is(true));
+    }
+
+    @Test
+    public void shouldRejectRestoredTokensWithTamperedState() throws Exception {
+        DecodedJWT jwt = new DecodedJWT(hmacToken("HS256", "HmacSHA256", PAYLOAD));
+        DecodedJWT forged = new DecodedJWT(hmacToken("HS256", "HmacSHA256", "{\"sub\":\"emails\",\"roles\":[\"owner\"]}"));
+        DecodedJWT none = new DecodedJWT(encode("{\"alg\":\"none\"}") + "." + encode(PAYLOAD) + ".");
+
+        //Forged claims, and a Header that would pick another key, restored along with the signed token
+        assertThat(hmacVerifier.verify(JWTFactory.INSTANCE.create(jwt.toString(), jwt.getHeader(), forged.payload, jwt.getSignature(), false)), is(false));
+        assertThat(hmacVerifier.verify(JWTFactory.INSTANCE.create(jwt.toString(), none.getHeader(), jwt.payload, jwt.getSignature(), false)), is(false));
+    }
+
+    @Test
+    public void shouldRejectStoredTokensWithTamperedClaims() throws Exception {
+        File file = File.createTempFile("tokens", null);
+        try {
+            DecodedJWT jwt = new DecodedJWT(hmacToken("HS256", "HmacSHA256", PAYLOAD));
+            DecodedJWT forged = new DecodedJWT(hmacToken("HS256", "HmacSHA256", "{\"sub\":\"admin\",\"roles\":[\"owner\"]}"));
+            Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+            tokens.put("valid", jwt);
+            tokens.put("lazy", new JWTDecoder.Builder().lazyClaims(true).build().decode(jwt.toString()));
+            tokens.put("forged", JWTFactory.INSTANCE.create(jwt.toString(), jwt.getHeader(), forged.payload, jwt.getSignature(), false));
+            PersistentJWTStore store = new PersistentJWTStore(file);
+            store.save(tokens);
+
+            Map<String, DecodedJWT> loaded = store.load();
+            assertThat(loaded.get("forged").getSubject(), is("admin"));
+            assertThat(hmacVerifier.verify(loaded.get("forged")), is(false));
+            assertThat(hmacVerifier.verify(loaded.get("valid")), is(true));
+            assertThat(hmacVerifier.verify(loaded.get("lazy")), is(true));
+        } finally {
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    @Test
+    public void shouldVerifyConcurrently() throws Exception {
+        final List<DecodedJWT> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(new DecodedJWT(hmacToken("HS256", "HmacSHA256", "{\"n\":" + i + "}")));
+            tokens.add(new DecodedJWT(hmacToken("HS512", "HmacSHA512", "{\"n\":" + i + "}")));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        boolean valid = true;
+                        for (int round = 0; round < 20; round++) {
+                            for (DecodedJWT jwt : tokens) {
+                                valid &= hmacVerifier.verify(jwt);
+                            }
+                        }
+                        return valid;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(), is(true));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireAKey() {
+        new JWTVerifier.Builder().build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRequireAKeyForEveryAlgorithm() {
+        new JWTVerifier.Builder().secret(SECRET).algorithms("HS256", "ES256").build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownAlgorithms() {
+        new JWTVerifier.Builder().algorithms("PS256");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectEmptySecrets() {
+        new JWTVerifier.Builder().secret(new byte[0]);
+    }
+
+    private static String hmacToken(String alg, String jcaName, String payload) throws GeneralSecurityException {
+        String input = encode("{\"alg\":\"" + alg + "\",\"typ\":\"JWT\"}") + "." + encode(payload);
+        Mac mac = Mac.getInstance(jcaName);
+        mac.init(new SecretKeySpec(SECRET, jcaName));
+        return input + "." + encode(mac.doFinal(input.getBytes(UTF_8)));
+    }
+
+    private static String signedToken(String alg, String jcaName, PrivateKey key, String payload, boolean jwsEcdsa) throws GeneralSecurityException {
+        String input = encode("{\"alg\":\"" + alg + "\"}") + "." + encode(payload);
+        Signature signature = Signature.getInstance(jcaName);
+        signature.initSign(key);
+        signature.update(input.getBytes(UTF_8));
+        byte[] signed = signature.sign();
+        if (jwsEcdsa) {
+            int fieldSize = alg.equals("ES256") ? 32 : alg.equals("ES384") ? 48 : 66;
+            signed = derToJws(signed, fieldSize);
+        }
+        return input + "." + encode(signed);
+    }
+
+    /**
+     * Converts a DER sequence of the R and S integers to their fixed-size concatenation.
+     */
+    private static byte[] derToJws(byte[] der, int fieldSize) {
+        int pos = der[1] == (byte) 0x81 ? 3 : 2;
+        byte[] jws = new byte[fieldSize * 2];
+        for (int half = 0; half < 2; half++) {
+            int length = der[pos + 1];
+            byte[] value = new BigInteger(Arrays.copyOfRange(der, pos + 2, pos + 2 + length)).toByteArray();
+            byte[] unsigned = value[0] == 0 ? Arrays.copyOfRange(value, 1, value.length) : value;
+            System.arraycopy(unsigned, 0, jws, half * fieldSize + fieldSize - unsigned.length, unsigned.length);
+            pos += 2 + length;
+        }
+        return jws;
+    }
+
+    private static KeyPair keyPair(String algorithm, int size) throws GeneralSecurityException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+        generator.initialize(size);
+        return generator.generateKeyPair();
+    }
+
+    private static String encode(String json) {
+        return encode(json.getBytes(UTF_8));
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
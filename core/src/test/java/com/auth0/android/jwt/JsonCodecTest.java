@@ -0,0 +1,174 @@
+package com.auth0.android.jwt;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+public class JsonCodecTest {
+
+    private static final String JSON = "{\"iss\":\"auth0\",\"exp\":1477592,\"ratio\":1.5e3,\"admin\":true,\"none\":null," +
+            "\"roles\":[\"a\",\"b\\\"c\",\"\\u00e9\"],\"profile\":{\"name\":\"john\",\"id\":-7}}";
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJhdXRoMCIsInJvbGVzIjpbImFkbWluIiwidXNlciJdfQ.signature";
+
+    @Test
+    public void shouldShareTheDefaultInstances() {
+        assertThat(JsonCodec.gson(), is(sameInstance(JsonCodec.gson())));
+        assertThat(JsonCodec.minimal(), is(sameInstance(JsonCodec.minimal())));
+    }
+
+    @Test
+    public void shouldParseWithGson() throws Exception {
+        assertThat(JsonCodec.toTree(JsonCodec.gson().parse(new StringReader(JSON))), is(expectedTree()));
+        assertThat(JsonCodec.gson().parseTree(new StringReader(JSON)), is(expectedTree()));
+    }
+
+    @Test
+    public void shouldParseWithMinimalParser() throws Exception {
+        assertThat(JsonCodec.toTree(JsonCodec.minimal().parse(new StringReader(JSON))), is(expectedTree()));
+        assertThat(JsonCodec.minimal().parseTree(new StringReader(JSON)), is(expectedTree()));
+    }
+
+    @Test
+    public void shouldParseIntoPlainJavaValues() throws Exception {
+        for (JsonCodec codec : new JsonCodec[]{JsonCodec.gson(), JsonCodec.minimal()}) {
+            Map<?, ?> document = (Map<?, ?>) codec.parse(new StringReader(JSON));
+
+            assertThat(document.keySet(), contains("iss", "exp", "ratio", "admin", "none", "roles", "profile"));
+            assertThat(document.get("iss"), is((Object) "auth0"));
+            assertThat(((Number) document.get("exp")).longValue(), is(1477592L));
+            assertThat(((Number) document.get("ratio")).doubleValue(), is(1500.0));
+            assertThat(document.get("admin"), is((Object) true));
+            assertThat(document.get("none"), is(nullValue()));
+            assertThat((List<?>) document.get("roles"), contains((Object) "a", "b\"c", "\u00e9"));
+            assertThat(((Number) ((Map<?, ?>) document.get("profile")).get("id")).intValue(), is(-7));
+        }
+    }
+
+    @Test
+    public void shouldRejectValuesWithUnsupportedTypes() {
+        JsonCodec codec = new JsonCodec() {
+            @Override
+            public Object parse(Reader json) {
+                return Collections.singletonMap("sub", new Object());
+            }
+        };
+        try {
+            new JWTDecoder.Builder().jsonCodec(codec).build().decode(TOKEN);
+            fail();
+        } catch (DecodeException e) {
+            assertThat(e.getReason(), is(DecodeException.Reason.INVALID_JSON));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldThrowOnTrailingDataWithMinimalParser() throws Exception {
+        JsonCodec.minimal().parse(new StringReader("{}ijfe"));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldThrowOnUnterminatedObjectWithMinimalParser() throws Exception {
+        JsonCodec.minimal().parse(new StringReader("{\"a\":1"));
+    }
+
+    @Test
+    public void shouldDecodeTheSameTokenWithEveryCodec() {
+        JsonCodec[] codecs = new JsonCodec[]{JsonCodec.gson(), JsonCodec.minimal(), new MapCodec()};
+        for (JsonCodec codec : codecs) {
+            DecodedJWT jwt = new JWTDecoder.Builder()
+                    .jsonCodec(codec)
+                    .build()
+                    .decode(TOKEN);
+            assertThat(jwt.getHeader().get("alg"), is("HS256"));
+            assertThat(jwt.getSubject(), is("auth0"));
+            assertThat(jwt.getClaim("roles").asList(String.class).size(), is(2));
+            assertThat(jwt.getClaim("roles").asArray(String.class)[1], is("user"));
+        }
+    }
+
+    @Test
+    public void shouldReadThePayloadLikeTheTreeDeserializer() throws Exception {
+        String json = "{\"iss\":\"auth0\",\"sub\":\"john\",\"exp\":1477592,\"nbf\":\"1477500\",\"iat\":1477000.0," +
+                "\"jti\":\"id\",\"aud\":[\"a\",\"b\"],\"admin\":true,\"none\":null,\"profile\":{\"id\":-7},\"exp\":1477600}";
+        JWTPayload tree = new JWTDeserializer().deserialize(JsonParser.parseString(json), JWTPayload.class, null);
+        for (JsonCodec codec : new JsonCodec[]{JsonCodec.gson(), JsonCodec.minimal()}) {
+            JWTPayload streamed = codec.parsePayload(new StringReader(json), StringPool.NONE);
+
+            assertThat(streamed.iss, is(tree.iss));
+            assertThat(streamed.sub, is(tree.sub));
+            assertThat(streamed.exp, is(1477600L));
+            assertThat(streamed.exp, is(tree.exp));
+            assertThat(streamed.nbf, is(tree.nbf));
+            assertThat(streamed.iat, is(tree.iat));
+            assertThat(streamed.jti, is(tree.jti));
+            assertThat(streamed.aud, is(tree.aud));
+            assertThat(streamed.claims.keySet(), is(tree.claims.keySet()));
+            for (String name : tree.claims.keySet()) {
+                assertThat(((ClaimImpl) streamed.claims.get(name)).value, is(((ClaimImpl) tree.claims.get(name)).value));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWriteThePayloadBack() throws Exception {
+        String json = "{\"iss\":\"auth0\",\"exp\":1477592,\"nbf\":\"1477500\",\"iat\":1477000.0,\"aud\":[\"a\"]," +
+                "\"admin\":true,\"none\":null,\"ratio\":1.5e3,\"big\":12345678901234567890,\"name\":\"\\u00e9\"," +
+                "\"profile\":{\"id\":-7}}";
+        JWTPayload payload = JsonCodec.gson().parsePayload(new StringReader(json), StringPool.NONE);
+
+        String written = JWTPayloadAdapter.INSTANCE.toJson(payload);
+        assertThat(JsonParser.parseString(written), is(JsonParser.parseString(json)));
+        assertThat(written.startsWith("{\"admin\":true,\"aud\":[\"a\"],\"big\":12345678901234567890,"), is(true));
+        assertThat(JWTPayloadAdapter.INSTANCE.toJson(null), is("null"));
+    }
+
+    @Test
+    public void shouldReadASingleAudienceWithGson() throws Exception {
+        JWTPayload payload = JsonCodec.gson().parsePayload(new StringReader("{\"aud\":\"auth0\"}"), StringPool.NONE);
+        assertThat(payload.aud, contains("auth0"));
+        assertThat(payload.exp, is(JWTPayload.NO_TIME));
+        assertThat(payload.iss, is(nullValue()));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void shouldThrowOnTrailingPayloadDataWithGson() throws Exception {
+        JsonCodec.gson().parsePayload(new StringReader("{}ijfe"), StringPool.NONE);
+    }
+
+    @Test(expected = DecodeException.class)
+    public void shouldThrowOnNonObjectPayloadWithGson() throws Exception {
+        JsonCodec.gson().parsePayload(new StringReader("[]"), StringPool.NONE);
+    }
+
+    private JsonElement expectedTree() {
+        return JsonParser.parseString(JSON);
+    }
+
+    /**
+     * A codec plugged in by extending {@link JsonCodec}, returning the maps and lists built by another parser.
+     */
+    private static class MapCodec extends JsonCodec {
+        private final Gson gson = new Gson();
+
+        @Override
+        public Object parse(Reader json) {
+            return gson.fromJson(json, Object.class);
+        }
+    }
+}
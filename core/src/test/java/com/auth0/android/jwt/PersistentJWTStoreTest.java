@@ -0,0 +1,193 @@
+package com.auth0.android.jwt;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+
+public class PersistentJWTStoreTest {
+
+    private static final String PAYLOAD = "{\"iss\":\"auth0\",\"sub\":\"emails\",\"aud\":[\"users\",\"admins\"],\"exp\":11111111," +
+            "\"iat\":10101010,\"jti\":\"idid\",\"roles\":[\"admin\",\"user\"],\"profile\":{\"name\":\"john\",\"id\":3},\"count\":42," +
+            "\"ratio\":0.75,\"nothing\":null}";
+    private static final String HEADER = "{\"alg\":\"HS256\",\"typ\":\"JWT\",\"kid\":null}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final DecodeMetrics metrics = new DecodeMetrics();
+    private File file;
+    private PersistentJWTStore store;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "tokens");
+        store = new PersistentJWTStore(file, new JWTDecoder.Builder().listener(metrics).build());
+    }
+
+    @Test
+    public void shouldLoadSavedTokensWithoutDecoding() throws Exception {
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        tokens.put("account/id", new DecodedJWT(token(HEADER, PAYLOAD, "signature")));
+        tokens.put("account/lazy", new JWTDecoder.Builder().lazyClaims(true).build().decode(token(HEADER, PAYLOAD, "sig")));
+        tokens.put("account/unsigned", new DecodedJWT(token("{\"alg\":\"none\"}", "{}", "")));
+        store.save(tokens);
+
+        Map<String, DecodedJWT> loaded = store.load();
+        assertThat(metrics.getDecodedCount(), is(0L));
+        assertThat(loaded.keySet(), contains("account/id", "account/lazy", "account/unsigned"));
+        for (Map.Entry<String, DecodedJWT> e : tokens.entrySet()) {
+            assertSameToken(loaded.get(e.getKey()), e.getValue());
+        }
+        assertThat(loaded.get("account/lazy").getClaim("roles"), is((Object) loaded.get("account/lazy").getClaim("roles")));
+        assertThat(loaded.get("account/lazy").getClaim("profile").asObject(Map.class).get("name"), is((Object) "john"));
+    }
+
+    @Test
+    public void shouldNotTrustTheDecodedPartOfLoadedTokens() throws Exception {
+        String token = token(HEADER, PAYLOAD, "signature");
+        DecodedJWT other = new DecodedJWT(token(HEADER, "{\"sub\":\"admin\"}", "signature"));
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        tokens.put("decoded", new DecodedJWT(token));
+        tokens.put("forged", JWTFactory.INSTANCE.create(token, other.header, other.payload, "signature", false));
+        store.save(tokens);
+
+        //The checksum can't tell the forged claims apart, so no loaded token counts as checked
+        Map<String, DecodedJWT> loaded = store.load();
+        assertThat(loaded.get("forged").getSubject(), is("admin"));
+        assertThat(loaded.get("forged").stateChecked, is(false));
+        assertThat(loaded.get("decoded").stateChecked, is(false));
+    }
+
+    @Test
+    public void shouldReplaceThePreviousTokens() throws Exception {
+        store.save(singleToken("first", PAYLOAD));
+        store.save(singleToken("second", "{\"sub\":\"other\"}"));
+        Map<String, DecodedJWT> loaded = store.load();
+        assertThat(loaded.keySet(), contains("second"));
+        assertThat(loaded.get("second").getSubject(), is("other"));
+        assertThat(new File(file.getPath() + ".tmp").exists(), is(false));
+    }
+
+    @Test
+    public void shouldDecodeAgainWhenTheDecodedPartIsDamaged() throws Exception {
+        DecodedJWT jwt = new DecodedJWT(token(HEADER, PAYLOAD, "signature"));
+        store.save(singleToken("k", PAYLOAD));
+        int decodedStart = 12 + 4 + 1 + 4 + jwt.toString().length() + 4 + 1 + 4;
+        corrupt(decodedStart + 20);
+
+        Map<String, DecodedJWT> loaded = store.load();
+        assertThat(metrics.getDecodedCount(), is(1L));
+        assertSameToken(loaded.get("k"), jwt);
+    }
+
+    @Test
+    public void shouldDecodeAgainWhenTheDecodedLayoutIsUnknown() throws Exception {
+        DecodedJWT jwt = new DecodedJWT(token(HEADER, PAYLOAD, "signature"));
+        store.save(singleToken("k", PAYLOAD));
+        corrupt(12 + 4 + 1 + 4 + jwt.toString().length() + 4);
+
+        assertSameToken(store.load().get("k"), jwt);
+        assertThat(metrics.getDecodedCount(), is(1L));
+    }
+
+    @Test
+    public void shouldSkipDamagedTokens() throws Exception {
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        tokens.put("a", new DecodedJWT(token(HEADER, PAYLOAD, "signature")));
+        tokens.put("b", new DecodedJWT(token(HEADER, "{\"sub\":\"b\"}", "signature")));
+        store.save(tokens);
+        corrupt(12 + 4 + 1 + 4 + 10);
+
+        Map<String, DecodedJWT> loaded = store.load();
+        assertThat(loaded.keySet(), contains("b"));
+        assertThat(loaded.get("b").getSubject(), is("b"));
+    }
+
+    @Test
+    public void shouldKeepTheTokensBeforeATruncation() throws Exception {
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        tokens.put("a", new DecodedJWT(token(HEADER, PAYLOAD, "signature")));
+        tokens.put("b", new DecodedJWT(token(HEADER, "{\"sub\":\"b\"}", "signature")));
+        store.save(tokens);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(raf.length() - 10);
+        } finally {
+            raf.close();
+        }
+        assertThat(store.load().keySet(), contains("a"));
+    }
+
+    @Test
+    public void shouldLoadNothingWithoutAStore() throws Exception {
+        assertThat(store.load().isEmpty(), is(true));
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write("not a store".getBytes(Charset.forName("UTF-8")));
+        } finally {
+            out.close();
+        }
+        assertThat(store.load().isEmpty(), is(true));
+        out = new FileOutputStream(file);
+        out.close();
+        assertThat(store.load().isEmpty(), is(true));
+    }
+
+    private static void assertSameToken(DecodedJWT actual, DecodedJWT expected) {
+        assertThat(actual.toString(), is(expected.toString()));
+        assertThat(actual.getSignature(), is(expected.getSignature()));
+        assertThat(actual.getHeader(), is(expected.getHeader()));
+        assertThat(actual.getIssuer(), is(expected.getIssuer()));
+        assertThat(actual.getSubject(), is(expected.getSubject()));
+        assertThat(actual.getId(), is(expected.getId()));
+        assertThat(actual.getAudience(), is(expected.getAudience()));
+        assertThat(actual.getExpiresAt(), is(expected.getExpiresAt()));
+        assertThat(actual.getIssuedAt(), is(expected.getIssuedAt()));
+        assertThat(actual.getNotBefore(), is(nullValue()));
+        assertThat(actual.getClaims().keySet(), is(expected.getClaims().keySet()));
+        for (String name : expected.getClaims().keySet()) {
+            assertThat(name, actual.getClaim(name).asString(), is(expected.getClaim(name).asString()));
+            assertThat(name, actual.getClaim(name).asList(Object.class), is(expected.getClaim(name).asList(Object.class)));
+        }
+    }
+
+    private Map<String, DecodedJWT> singleToken(String key, String payload) {
+        Map<String, DecodedJWT> tokens = new LinkedHashMap<>();
+        tokens.put(key, new DecodedJWT(token(HEADER, payload, "signature")));
+        return tokens;
+    }
+
+    private void corrupt(long position) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(position);
+            int value = raf.read();
+            raf.seek(position);
+            raf.write(value ^ 0x5A);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static String token(String header, String payload, String signature) {
+        return encode(header) + "." + encode(payload) + "." + signature;
+    }
+
+    private static String encode(String json) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,55 @@
+package com.auth0.android.jwt;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class StringPoolTest {
+
+    @Test
+    public void shouldReturnThePooledInstance() {
+        StringPool pool = new StringPool(16);
+        String first = new String("https://auth0.com/");
+        String second = new String("https://auth0.com/");
+        assertThat(pool.intern(first), is(sameInstance(first)));
+        assertThat(pool.intern(second), is(sameInstance(first)));
+        assertThat(pool.intern(null), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotPoolLongStrings() {
+        StringPool pool = new StringPool(16);
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i <= StringPool.MAX_LENGTH; i++) {
+            value.append('a');
+        }
+        String first = value.toString();
+        pool.intern(first);
+        assertThat(pool.intern(value.toString()), is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void shouldReplaceStringsOnceFull() {
+        StringPool pool = new StringPool(1);
+        String first = new String("a");
+        pool.intern(first);
+        pool.intern("b");
+        assertThat(pool.intern(new String("a")), is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void shouldNotPoolWithoutAPool() {
+        String first = new String("a");
+        StringPool.NONE.intern(first);
+        assertThat(StringPool.NONE.intern(new String("a")), is(not(sameInstance(first))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveCapacity() {
+        new StringPool(0);
+    }
+}
@@ -0,0 +1,178 @@
+package com.auth0.android.jwt;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TokenExpiryWatcherTest {
+
+    private static final long NOW = 1_500_000_000_000L;
+
+    private final BlockingQueue<String> notified = new LinkedBlockingQueue<>();
+    private final List<DecodedJWT> notifiedTokens = new ArrayList<>();
+    private volatile long now = NOW;
+    private TokenExpiryWatcher watcher;
+
+    @Before
+    public void setUp() {
+        watcher = new TokenExpiryWatcher.Builder()
+                .leadTimeMillis(60_000)
+                .clock(new Clock() {
+                    @Override
+                    public long currentTimeMillis() {
+                        return now;
+                    }
+                })
+                .build(new TokenExpiryWatcher.Listener() {
+                    @Override
+                    public void onExpiring(String key, DecodedJWT jwt) {
+                        synchronized (notifiedTokens) {
+                            notifiedTokens.add(jwt);
+                        }
+                        notified.add(key);
+                    }
+                });
+    }
+
+    @After
+    public void tearDown() {
+        watcher.shutdown();
+    }
+
+    @Test
+    public void shouldNotifyOnceTheLeadTimeIsReached() throws Exception {
+        DecodedJWT jwt = tokenExpiringIn(120);
+        watcher.watch("account", jwt);
+        advance(59);
+        watcher.watch("sentinel", tokenExpiringIn(0));
+        assertThat(next(), is("sentinel"));
+        assertThat(watcher.size(), is(1));
+
+        advance(1);
+        assertThat(next(), is("account"));
+        assertThat(notifiedTokens.get(1), is(sameInstance(jwt)));
+        assertThat(watcher.size(), is(0));
+        assertThat(watcher.get("account"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldNotifyDueTokensRightAway() throws Exception {
+        watcher.watch("expired", tokenExpiringIn(-10));
+        assertThat(next(), is("expired"));
+    }
+
+    @Test
+    public void shouldNotifyTokensExpiredLongAgoRightAway() throws Exception {
+        watcher.watch("ancient", new DecodedJWT(token("{\"exp\":-9223372036854775807}")));
+        watcher.watch("expired", tokenExpiringIn(-10));
+        assertThat(next(), is("ancient"));
+        assertThat(next(), is("expired"));
+    }
+
+    @Test
+    public void shouldReplaceTheWatchedToken() throws Exception {
+        DecodedJWT first = tokenExpiringIn(100);
+        DecodedJWT second = tokenExpiringIn(3600);
+        watcher.watch("account", first);
+        watcher.watch("account", second);
+        assertThat(watcher.get("account"), is(sameInstance(second)));
+        assertThat(watcher.size(), is(1));
+
+        advance(200);
+        watcher.watch("sentinel", tokenExpiringIn(0));
+        assertThat(next(), is("sentinel"));
+
+        advance(3600);
+        assertThat(next(), is("account"));
+        assertThat(notifiedTokens.get(1), is(sameInstance(second)));
+    }
+
+    @Test
+    public void shouldStopWatchingRemovedTokens() throws Exception {
+        DecodedJWT jwt = tokenExpiringIn(100);
+        watcher.watch("removed", jwt);
+        assertThat(watcher.unwatch("removed"), is(sameInstance(jwt)));
+        assertThat(watcher.unwatch("removed"), is(nullValue()));
+
+        advance(200);
+        watcher.watch("sentinel", tokenExpiringIn(0));
+        assertThat(next(), is("sentinel"));
+        assertThat(notified.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldNotWatchTokensWithoutExpiration() {
+        watcher.watch("account", tokenExpiringIn(100));
+        watcher.watch("account", new DecodedJWT(token("{}")));
+        assertThat(watcher.size(), is(0));
+    }
+
+    @Test
+    public void shouldNotifyInExpirationOrder() throws Exception {
+        Random random = new Random(42);
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            watcher.watch("token" + i, tokenExpiringIn(120 + random.nextInt(3600)));
+        }
+        advance(3720);
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            next();
+            long exp;
+            synchronized (notifiedTokens) {
+                exp = notifiedTokens.get(i).getExpiresAtEpochSeconds();
+            }
+            assertThat(exp >= previous, is(true));
+            previous = exp;
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotWatchOnceShutDown() {
+        watcher.shutdown();
+        watcher.watch("account", tokenExpiringIn(100));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNegativeLeadTime() {
+        new TokenExpiryWatcher.Builder().leadTimeMillis(-1);
+    }
+
+    private void advance(long seconds) {
+        now += seconds * 1000;
+        watcher.wakeUp();
+    }
+
+    private String next() throws InterruptedException {
+        String key = notified.poll(5, TimeUnit.SECONDS);
+        if (key == null) {
+            throw new AssertionError("The listener wasn't notified");
+        }
+        return key;
+    }
+
+    private DecodedJWT tokenExpiringIn(long seconds) {
+        return new DecodedJWT(token("{\"exp\":" + (now / 1000 + seconds) + "}"));
+    }
+
+    private static String token(String payload) {
+        return encode("{\"alg\":\"HS256\"}") + "." + encode(payload) + ".signature";
+    }
+
+    private static String encode(String json) {
+        return java.util.Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(Charset.forName("UTF-8")));
+    }
+}
@@ -0,0 +1,10 @@
+# The decoder finds this class by name to create Parcelable JWT instances
+-keep class com.auth0.android.jwt.ParcelableJWTFactory {
+    <init>();
+}
+
+# Claim binders generated for @JwtClaims classes are found by the name of the class they bind
+-keepnames @com.auth0.android.jwt.JwtClaims class *
+-keep class * extends com.auth0.android.jwt.ClaimBinder {
+    <init>();
+}
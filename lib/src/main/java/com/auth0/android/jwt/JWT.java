@@ -2,182 +2,103 @@ package com.auth0.android.jwt;
 
 import android.os.Parcel;
 import android.os.Parcelable;
-import android.util.Base64;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-
-import java.lang.reflect.Type;
-import java.nio.charset.Charset;
-import java.util.Date;
-import java.util.List;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
 /**
  * Wrapper class for values contained inside a Json Web Token (JWT).
+ * It adds {@link Parcelable} support to {@link DecodedJWT}. On Android, every token decoded by a
+ * {@link JWTDecoder} or a {@link JWTCache} is an instance of this class.
  */
 @SuppressWarnings("ALL")
-public class JWT implements Parcelable {
+public class JWT extends DecodedJWT implements Parcelable {
 
     private static final String TAG = JWT.class.getSimpleName();
-    private final String token;
-
-    private Map<String, String> header;
-    private JWTPayload payload;
-    private String signature;
 
     /**
-     * Decode a given string JWT token.
-     *
-     * @param token the string JWT token.
-     * @throws DecodeException if the token cannot be decoded
+     * Marks a parcel that holds the decoded state. Parcels written by older versions start with the length of the
+     * string token instead, which is never negative.
      */
-    public JWT(@NonNull String token) {
-        decode(token);
-        this.token = token;
-    }
-
+    private static final int PARCEL_FORMAT_DECODED_V1 = 0x8A170001;
     /**
-     * Get the Header values from this JWT as a Map of Strings.
-     *
-     * @return the Header values of the JWT.
+     * Marks a parcel that holds the decoded state along with its seal, see {@link StateSeal}.
      */
-    @NonNull
-    public Map<String, String> getHeader() {
-        return header;
-    }
+    private static final int PARCEL_FORMAT_SEALED_V2 = 0x8A170002;
 
     /**
-     * Get the Signature from this JWT as a Base64 encoded String.
-     *
-     * @return the Signature of the JWT.
-     */
-    @NonNull
-    public String getSignature() {
-        return signature;
-    }
-
-    /**
-     * Get the value of the "iss" claim, or null if it's not available.
-     *
-     * @return the Issuer value or null.
-     */
-    @Nullable
-    public String getIssuer() {
-        return payload.iss;
-    }
-
-    /**
-     * Get the value of the "sub" claim, or null if it's not available.
-     *
-     * @return the Subject value or null.
-     */
-    @Nullable
-    public String getSubject() {
-        return payload.sub;
-    }
-
-    /**
-     * Get the value of the "aud" claim, or an empty list if it's not available.
-     *
-     * @return the Audience value or an empty list.
-     */
-    @Nullable
-    public List<String> getAudience() {
-        return payload.aud;
-    }
-
-    /**
-     * Get the value of the "exp" claim, or null if it's not available.
-     *
-     * @return the Expiration Time value or null.
-     */
-    @Nullable
-    public Date getExpiresAt() {
-        return payload.exp;
-    }
-
-    /**
-     * Get the value of the "nbf" claim, or null if it's not available.
+     * Decode a given string JWT token.
      *
-     * @return the Not Before value or null.
+     * @param token the string JWT token.
+     * @throws DecodeException if the token cannot be decoded
      */
-    @Nullable
-    public Date getNotBefore() {
-        return payload.nbf;
+    public JWT(@NonNull String token) {
+        super(token);
     }
 
-    /**
-     * Get the value of the "iat" claim, or null if it's not available.
-     *
-     * @return the Issued At value or null.
-     */
-    @Nullable
-    public Date getIssuedAt() {
-        return payload.iat;
+    JWT(@NonNull CharSequence token, @NonNull JWTDecoder decoder) {
+        super(token, decoder);
     }
 
-    /**
-     * Get the value of the "jti" claim, or null if it's not available.
-     *
-     * @return the JWT ID value or null.
-     */
-    @Nullable
-    public String getId() {
-        return payload.jti;
+    JWT(@NonNull String token, @NonNull Map<String, String> header, @NonNull JWTPayload payload, @NonNull String signature, boolean stateChecked) {
+        super(token, header, payload, signature, stateChecked);
     }
 
     /**
-     * Get a Claim given it's name. If the Claim wasn't specified in the JWT payload, a BaseClaim will be returned.
+     * Decode a given string JWT token, or return the instance already decoded for it by a previous call. The
+     * process-wide cache keeps up to 64 tokens and drops them once they expire. Use a {@link JWTCache} to
+     * configure a different cache.
      *
-     * @param name the name of the Claim to retrieve.
-     * @return a valid Claim.
+     * @param token the string JWT token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
      */
     @NonNull
-    public Claim getClaim(@NonNull String name) {
-        return payload.claimForName(name);
+    public static JWT decodeCached(@NonNull String token) {
+        return (JWT) JWTCache.DEFAULT.get(token);
     }
 
     /**
-     * Get all the Claims.
+     * Decode a JWT token given as characters, without creating a String version of it.
      *
-     * @return a valid Map of Claims.
+     * @param token the characters of the JWT token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     * @see DecodedJWT#decode(CharSequence)
      */
     @NonNull
-    public Map<String, Claim> getClaims() {
-        return payload.tree;
+    public static JWT decode(@NonNull CharSequence token) {
+        return (JWT) JWTDecoder.DEFAULT.decode(token);
     }
 
     /**
-     * Validates that this JWT was issued in the past and hasn't expired yet.
+     * Decode a JWT token given as ASCII bytes, without creating a String version of it.
      *
-     * @param leeway the time leeway in seconds in which the token should still be considered valid.
-     * @return if this JWT has already expired or not.
+     * @param bytes  the array that holds the token.
+     * @param offset the index of the first byte of the token.
+     * @param length the number of bytes of the token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     * @see DecodedJWT#decode(byte[], int, int)
      */
-    public boolean isExpired(long leeway) {
-        if (leeway < 0) {
-            throw new IllegalArgumentException("The leeway must be a positive value.");
-        }
-        long todayTime = (long) (Math.floor(new Date().getTime() / 1000) * 1000); //truncate millis
-        Date futureToday = new Date(todayTime + leeway * 1000);
-        Date pastToday = new Date(todayTime - leeway * 1000);
-        boolean expValid = payload.exp == null || !pastToday.after(payload.exp);
-        boolean iatValid = payload.iat == null || !futureToday.before(payload.iat);
-        return !expValid || !iatValid;
+    @NonNull
+    public static JWT decode(@NonNull byte[] bytes, int offset, int length) {
+        return (JWT) JWTDecoder.DEFAULT.decode(bytes, offset, length);
     }
 
     /**
-     * Returns the String representation of this JWT.
+     * Decode a JWT token given as the ASCII bytes remaining in a buffer, without creating a String version of it.
      *
-     * @return the String Token.
+     * @param buffer the buffer that holds the token.
+     * @return the decoded JWT.
+     * @throws DecodeException if the token cannot be decoded
+     * @see DecodedJWT#decode(ByteBuffer)
      */
-    @Override
-    public String toString() {
-        return token;
+    @NonNull
+    public static JWT decode(@NonNull ByteBuffer buffer) {
+        return (JWT) JWTDecoder.DEFAULT.decode(buffer);
     }
 
     @Override
@@ -187,13 +108,44 @@ public class JWT implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
+        String token = toString();
+        byte[] state = JWTState.encode(this);
+        dest.writeInt(PARCEL_FORMAT_SEALED_V2);
         dest.writeString(token);
+        dest.writeByteArray(state);
+        dest.writeByteArray(StateSeal.seal(token, state));
     }
 
+    /**
+     * Instances read from a parcel are only rebuilt from the decoded state when it was sealed by this process. A
+     * parcel from another process, e.g. received over IPC or restored after the process died, could pair the token
+     * with any state, so its token is decoded again.
+     */
     public static final Creator<JWT> CREATOR = new Creator<JWT>() {
         @Override
         public JWT createFromParcel(Parcel in) {
-            return new JWT(in.readString());
+            int start = in.dataPosition();
+            int format = in.readInt();
+            if (format != PARCEL_FORMAT_SEALED_V2 && format != PARCEL_FORMAT_DECODED_V1) {
+                //Parcels written by older versions only hold the string token
+                in.setDataPosition(start);
+                return new JWT(in.readString());
+            }
+            String token = in.readString();
+            if (format == PARCEL_FORMAT_DECODED_V1) {
+                //Its state isn't sealed, so it's skipped
+                skipDecodedV1(in);
+                return new JWT(token);
+            }
+            byte[] state = in.createByteArray();
+            byte[] seal = in.createByteArray();
+            if (state != null && StateSeal.check(token, state, seal)) {
+                DecodedJWT restored = JWTState.restore(token, state, 0, state.length, true);
+                if (restored != null) {
+                    return (JWT) restored;
+                }
+            }
+            return new JWT(token);
         }
 
         @Override
@@ -202,56 +154,23 @@ public class JWT implements Parcelable {
         }
     };
 
-    // =====================================
-    // ===========Private Methods===========
-    // =====================================
-
-    private void decode(String token) {
-        final String[] parts = splitToken(token);
-        Type mapType = new TypeToken<Map<String, String>>() {
-        }.getType();
-        header = parseJson(base64Decode(parts[0]), mapType);
-        payload = parseJson(base64Decode(parts[1]), JWTPayload.class);
-        signature = parts[2];
-    }
-
-    private String[] splitToken(String token) {
-        String[] parts = token.split("\\.");
-        if (parts.length == 2 && token.endsWith(".")) {
-            //Tokens with alg='none' have empty String as Signature.
-            parts = new String[]{parts[0], parts[1], ""};
-        }
-        if (parts.length != 3) {
-            throw new DecodeException(String.format("The token was expected to have 3 parts, but got %s.", parts.length));
-        }
-        return parts;
-    }
-
-    @Nullable
-    private String base64Decode(String string) {
-        String decoded;
-        try {
-            byte[] bytes = Base64.decode(string, Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
-            decoded = new String(bytes, Charset.defaultCharset());
-        } catch (IllegalArgumentException e) {
-            throw new DecodeException("Received bytes didn't correspond to a valid Base64 encoded string.", e);
-        }
-        return decoded;
-    }
-
-    private <T> T parseJson(String json, Type typeOfT) {
-        T payload;
-        try {
-            payload = getGson().fromJson(json, typeOfT);
-        } catch (Exception e) {
-            throw new DecodeException("The token's payload had an invalid JSON format.", e);
+    /**
+     * Reads past the decoded state of a parcel written in the first decoded format, so the parcel can be read on.
+     */
+    private static void skipDecodedV1(Parcel in) {
+        in.readString();
+        int headerSize = in.readInt();
+        for (int i = 0; i < headerSize; i++) {
+            in.readString();
+            in.readString();
         }
-        return payload;
-    }
-
-    static Gson getGson() {
-        return new GsonBuilder()
-                .registerTypeAdapter(JWTPayload.class, new JWTDeserializer())
-                .create();
+        in.readString();
+        in.readString();
+        in.readString();
+        in.readLong();
+        in.readLong();
+        in.readLong();
+        in.createStringArrayList();
+        in.createByteArray();
     }
 }
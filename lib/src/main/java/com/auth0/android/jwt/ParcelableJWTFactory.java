@@ -0,0 +1,20 @@
+package com.auth0.android.jwt;
+
+import java.util.Map;
+
+/**
+ * The ParcelableJWTFactory class makes {@link JWTDecoder} create {@link JWT} instances. It's found by name, so it
+ * must be kept when shrinking the app.
+ */
+class ParcelableJWTFactory extends JWTFactory {
+
+    @Override
+    DecodedJWT create(CharSequence token, JWTDecoder decoder) {
+        return new JWT(token, decoder);
+    }
+
+    @Override
+    DecodedJWT create(String token, Map<String, String> header, JWTPayload payload, String signature, boolean stateChecked) {
+        return new JWT(token, header, payload, signature, stateChecked);
+    }
+}
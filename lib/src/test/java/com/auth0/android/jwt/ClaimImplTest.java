@@ -15,10 +15,14 @@ import org.robolectric.annotation.Config;
 
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsArrayContainingInOrder.arrayContaining;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
@@ -280,4 +284,77 @@ public class ClaimImplTest {
         exception.expect(DecodeException.class);
         claim.asObject(UserPojo.class);
     }
+
+    @Test
+    public void shouldReuseConvertedList() {
+        JsonElement value = gson.toJsonTree(new String[]{"keys", "values"});
+        ClaimImpl claim = new ClaimImpl(value);
+
+        assertThat(claim.asList(String.class), is(sameInstance(claim.asList(String.class))));
+        assertThat(claim.asList(Object.class), is(not(sameInstance((Object) claim.asList(String.class)))));
+    }
+
+    @Test
+    public void shouldNotAllowListChanges() {
+        JsonElement value = gson.toJsonTree(new String[]{"keys", "values"});
+        ClaimImpl claim = new ClaimImpl(value);
+
+        exception.expect(UnsupportedOperationException.class);
+        claim.asList(String.class).add("more");
+    }
+
+    @Test
+    public void shouldCopyConvertedArray() {
+        JsonElement value = gson.toJsonTree(new String[]{"keys", "values"});
+        ClaimImpl claim = new ClaimImpl(value);
+
+        String[] first = claim.asArray(String.class);
+        first[0] = "changed";
+        assertThat(claim.asArray(String.class), is(arrayContaining("keys", "values")));
+    }
+
+    @Test
+    public void shouldConvertMutableObjectsForEveryCall() {
+        ClaimImpl claim = new ClaimImpl(gson.toJsonTree(new UserPojo("George", 1)));
+
+        assertThat(claim.asObject(UserPojo.class), is(not(sameInstance(claim.asObject(UserPojo.class)))));
+        assertThat(claim.asObject(UserPojo.class), is(new UserPojo("George", 1)));
+
+        Map<String, Object> first = claim.asObject(Map.class);
+        first.put("name", "changed");
+        assertThat(claim.asObject(Map.class).get("name"), is((Object) "George"));
+    }
+
+    @Test
+    public void shouldConvertListsOfMutableObjectsForEveryCall() {
+        ClaimImpl claim = new ClaimImpl(gson.toJsonTree(new UserPojo[]{new UserPojo("George", 1)}));
+
+        List<UserPojo> first = claim.asList(UserPojo.class);
+        assertThat(claim.asList(UserPojo.class), is(not(sameInstance(first))));
+        assertThat(claim.asList(UserPojo.class).get(0), is(not(sameInstance(first.get(0)))));
+    }
+
+    @Test
+    public void shouldPublishOneConversionAcrossThreads() throws Exception {
+        JsonElement value = gson.toJsonTree(new String[]{"keys", "values"});
+        final ClaimImpl claim = new ClaimImpl(value);
+        final Object[] results = new Object[4];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    results[index] = claim.asList(String.class);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (Object result : results) {
+            assertThat(result, is(sameInstance((Object) claim.asList(String.class))));
+        }
+    }
 }
@@ -0,0 +1,350 @@
+package com.auth0.android.jwt.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * The JwtClaimsProcessor class generates a {@code ClaimBinder} for every class annotated with {@code @JwtClaims}.
+ * The binder reads the claim value member by member and assigns the fields directly, so converting a claim to the
+ * class doesn't need reflection.
+ */
+public class JwtClaimsProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "com.auth0.android.jwt.JwtClaims";
+    static final String SUFFIX = "_JwtClaimsBinder";
+
+    private static final String BINDER = "com.auth0.android.jwt.ClaimBinder";
+    private static final String READER = "com.auth0.android.jwt.ClaimReader";
+    private static final String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+
+    private static final Map<String, String[]> SIMPLE_TYPES = new LinkedHashMap<>();
+
+    static {
+        //type name -> {reader method, element binder}
+        SIMPLE_TYPES.put("java.lang.String", new String[]{"nextString", "STRING"});
+        SIMPLE_TYPES.put("java.lang.Boolean", new String[]{"nextBoolean", "BOOLEAN"});
+        SIMPLE_TYPES.put("java.lang.Integer", new String[]{"nextInt", "INTEGER"});
+        SIMPLE_TYPES.put("java.lang.Long", new String[]{"nextLong", "LONG"});
+        SIMPLE_TYPES.put("java.lang.Float", new String[]{"nextFloat", "FLOAT"});
+        SIMPLE_TYPES.put("java.lang.Double", new String[]{"nextDouble", "DOUBLE"});
+        SIMPLE_TYPES.put("boolean", new String[]{"nextBoolean", null});
+        SIMPLE_TYPES.put("int", new String[]{"nextInt", null});
+        SIMPLE_TYPES.put("long", new String[]{"nextLong", null});
+        SIMPLE_TYPES.put("float", new String[]{"nextFloat", null});
+        SIMPLE_TYPES.put("double", new String[]{"nextDouble", null});
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(ANNOTATION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@JwtClaims can only be used on classes.");
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                List<Binding> bindings = collectBindings(type);
+                if (bindings != null) {
+                    write(type, bindings);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the given class can be bound and lists its fields, or returns null after reporting the errors.
+     */
+    private List<Binding> collectBindings(TypeElement type) {
+        boolean valid = true;
+        Set<Modifier> modifiers = type.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.ABSTRACT)) {
+            error(type, "@JwtClaims classes must not be private or abstract.");
+            valid = false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+            error(type, "@JwtClaims classes nested in another class must be static.");
+            valid = false;
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            error(type, "@JwtClaims classes must not have type parameters.");
+            valid = false;
+        }
+        if (!hasDefaultConstructor(type)) {
+            error(type, "@JwtClaims classes must have a non-private constructor without parameters.");
+            valid = false;
+        }
+
+        List<Binding> bindings = new ArrayList<>();
+        Map<String, VariableElement> names = new LinkedHashMap<>();
+        String packageName = packageOf(type);
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                Set<Modifier> fieldModifiers = field.getModifiers();
+                if (fieldModifiers.contains(Modifier.STATIC) || fieldModifiers.contains(Modifier.TRANSIENT)) {
+                    //Excluded by Gson too
+                    continue;
+                }
+                if (fieldModifiers.contains(Modifier.PRIVATE) || fieldModifiers.contains(Modifier.FINAL)
+                        || !fieldModifiers.contains(Modifier.PUBLIC) && !packageOf(current).equals(packageName)) {
+                    error(field, "Fields of @JwtClaims classes must be writable from their package: they can't be private or final.");
+                    valid = false;
+                    continue;
+                }
+                String read = readExpression(field.asType());
+                if (read == null) {
+                    error(field, "The type " + field.asType() + " is not supported by @JwtClaims. Use String, boolean, int, long, float, double, their boxed types, another @JwtClaims class or a List of them.");
+                    valid = false;
+                    continue;
+                }
+                List<String> fieldNames = serializedNames(field);
+                for (String name : fieldNames) {
+                    if (names.containsKey(name)) {
+                        error(field, "The JSON name \"" + name + "\" is already used by the field " + names.get(name).getSimpleName() + ".");
+                        valid = false;
+                    }
+                    names.put(name, field);
+                }
+                bindings.add(new Binding(field.getSimpleName().toString(), fieldNames, read, field.asType().getKind().isPrimitive()));
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return valid ? bindings : null;
+    }
+
+    /**
+     * Get the expression that reads a non-null value of the given type, or null if the type is not supported.
+     */
+    private String readExpression(TypeMirror type) {
+        String[] simple = SIMPLE_TYPES.get(typeName(type));
+        if (simple != null) {
+            return "reader." + simple[0] + "()";
+        }
+        String binder = binderExpression(type);
+        if (binder != null) {
+            return binder + ".bind(reader)";
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declared = (DeclaredType) type;
+            TypeElement element = (TypeElement) declared.asElement();
+            if (element.getQualifiedName().contentEquals("java.util.List") && declared.getTypeArguments().size() == 1) {
+                String elementBinder = binderExpression(declared.getTypeArguments().get(0));
+                if (elementBinder != null) {
+                    return BINDER + ".bindList(reader, " + elementBinder + ")";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the expression of the binder for a List element of the given type, or null if the type is not supported.
+     */
+    private String binderExpression(TypeMirror type) {
+        String[] simple = SIMPLE_TYPES.get(typeName(type));
+        if (simple != null) {
+            return simple[1] == null ? null : BINDER + "." + simple[1];
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (!isAnnotated(element)) {
+            return null;
+        }
+        return binderName(element) + ".INSTANCE";
+    }
+
+    private void write(TypeElement type, List<Binding> bindings) {
+        String packageName = packageOf(type);
+        String binderName = binderName(type);
+        String simpleName = binderName.substring(binderName.lastIndexOf('.') + 1);
+        String typeName = type.getQualifiedName().toString();
+
+        StringBuilder out = new StringBuilder();
+        out.append("// Generated by the jwtdecode claims processor. Do not edit.\n");
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("public final class ").append(simpleName).append(" extends ").append(BINDER).append("<").append(typeName).append("> {\n\n");
+        out.append("    public static final ").append(simpleName).append(" INSTANCE = new ").append(simpleName).append("();\n\n");
+        out.append("    @Override\n");
+        out.append("    public ").append(typeName).append(" bind(").append(READER).append(" reader) throws java.io.IOException {\n");
+        out.append("        ").append(typeName).append(" result = new ").append(typeName).append("();\n");
+        out.append("        reader.beginObject();\n");
+        out.append("        while (reader.hasNext()) {\n");
+        out.append("            switch (reader.nextName()) {\n");
+        for (Binding binding : bindings) {
+            for (String name : binding.names) {
+                out.append("                case \"").append(escape(name)).append("\":\n");
+            }
+            out.append("                    if (reader.isNull()) {\n");
+            out.append("                        reader.skipValue();\n");
+            if (!binding.primitive) {
+                out.append("                        result.").append(binding.field).append(" = null;\n");
+            }
+            out.append("                    } else {\n");
+            out.append("                        result.").append(binding.field).append(" = ").append(binding.read).append(";\n");
+            out.append("                    }\n");
+            out.append("                    break;\n");
+        }
+        out.append("                default:\n");
+        out.append("                    reader.skipValue();\n");
+        out.append("                    break;\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        reader.endObject();\n");
+        out.append("        return result;\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(binderName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(out.toString());
+            }
+        } catch (IOException e) {
+            error(type, "Failed to write " + binderName + ": " + e.getMessage());
+        }
+    }
+
+    private boolean hasDefaultConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> serializedNames(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!annotation.getQualifiedName().contentEquals(SERIALIZED_NAME)) {
+                continue;
+            }
+            List<String> names = new ArrayList<>();
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> e : mirror.getElementValues().entrySet()) {
+                String key = e.getKey().getSimpleName().toString();
+                if ("value".equals(key)) {
+                    names.add(0, (String) e.getValue().getValue());
+                } else if ("alternate".equals(key)) {
+                    for (Object alternate : (List<?>) e.getValue().getValue()) {
+                        names.add((String) ((AnnotationValue) alternate).getValue());
+                    }
+                }
+            }
+            return names;
+        }
+        return Collections.singletonList(field.getSimpleName().toString());
+    }
+
+    private static boolean isAnnotated(TypeElement element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the qualified name of the binder of the given class. Nested classes are flattened, so the binder of
+     * Outer.Inner is Outer_Inner_JwtClaimsBinder.
+     */
+    private static String binderName(TypeElement type) {
+        String packageName = packageOf(type);
+        String qualifiedName = type.getQualifiedName().toString();
+        String nestedName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        return (packageName.isEmpty() ? "" : packageName + ".") + nestedName.replace('.', '_') + SUFFIX;
+    }
+
+    private static String packageOf(Element element) {
+        Element current = element;
+        while (current.getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+        return ((PackageElement) current).getQualifiedName().toString();
+    }
+
+    private static String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.toString();
+        }
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+        return null;
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7E) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static final class Binding {
+        final String field;
+        final List<String> names;
+        final String read;
+        final boolean primitive;
+
+        Binding(String field, List<String> names, String read, boolean primitive) {
+            this.field = field;
+            this.names = names;
+            this.read = read;
+            this.primitive = primitive;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.auth0.android.jwt.processor;
+
+import com.auth0.android.jwt.Claim;
+import com.auth0.android.jwt.DecodeException;
+import com.auth0.android.jwt.DecodedJWT;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.fail;
+
+public class JwtClaimsProcessorTest {
+
+    // {"profile":{"name":"john","id":3,"score":1.5,"admin":true,"tags":["a",null],"address":{"city":"Paris"},
+    // "nick":"jo","ignored":{"x":[1]},"count":null},"profiles":[{"name":"a","id":1},null,{"name":"b","id":"2"}],
+    // "broken":{"id":"x"}}
+    private static final String TOKEN = "eyJhbGciOiJIUzI1NiJ9.eyJwcm9maWxlIjp7Im5hbWUiOiJqb2huIiwiaWQiOjMsInNjb3JlIjoxLjUsImFkbWluIjp0cnVlLCJ0YWdzIjpbImEiLG51bGxdLCJhZGRyZXNzIjp7ImNpdHkiOiJQYXJpcyJ9LCJuaWNrIjoiam8iLCJpZ25vcmVkIjp7IngiOlsxXX0sImNvdW50IjpudWxsfSwicHJvZmlsZXMiOlt7Im5hbWUiOiJhIiwiaWQiOjF9LG51bGwseyJuYW1lIjoiYiIsImlkIjoiMiJ9XSwiYnJva2VuIjp7ImlkIjoieCJ9fQ.signature";
+
+    private static final String PROFILE = "package com.example;\n" +
+            "import com.auth0.android.jwt.JwtClaims;\n" +
+            "import com.google.gson.annotations.SerializedName;\n" +
+            "import java.util.List;\n" +
+            "@JwtClaims\n" +
+            "public class Profile {\n" +
+            "    public String name;\n" +
+            "    public int id;\n" +
+            "    public Double score;\n" +
+            "    public boolean admin;\n" +
+            "    public List<String> tags;\n" +
+            "    public Address address;\n" +
+            "    @SerializedName(value = \"nickname\", alternate = {\"nick\"})\n" +
+            "    public String nickname;\n" +
+            "    public Integer count = 7;\n" +
+            "    public transient String skipped = \"kept\";\n" +
+            "    @JwtClaims\n" +
+            "    public static class Address {\n" +
+            "        public String city;\n" +
+            "    }\n" +
+            "}\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldGenerateBinders() throws Exception {
+        ClassLoader loader = compile(PROFILE);
+        loader.loadClass("com.example.Profile_JwtClaimsBinder");
+        loader.loadClass("com.example.Profile_Address_JwtClaimsBinder");
+    }
+
+    @Test
+    public void shouldBindObject() throws Exception {
+        Class<?> profileClass = compile(PROFILE).loadClass("com.example.Profile");
+        Object profile = new DecodedJWT(TOKEN).getClaim("profile").asObject(profileClass);
+
+        assertThat(field(profile, "name"), is((Object) "john"));
+        assertThat(field(profile, "id"), is((Object) 3));
+        assertThat(field(profile, "score"), is((Object) 1.5));
+        assertThat(field(profile, "admin"), is((Object) true));
+        assertThat((List<?>) field(profile, "tags"), contains("a", null));
+        assertThat(field(field(profile, "address"), "city"), is((Object) "Paris"));
+        assertThat(field(profile, "nickname"), is((Object) "jo"));
+        assertThat(field(profile, "count"), is(nullValue()));
+        assertThat(field(profile, "skipped"), is((Object) "kept"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldBindList() throws Exception {
+        Class<Object> profileClass = (Class<Object>) compile(PROFILE).loadClass("com.example.Profile");
+        List<Object> profiles = new DecodedJWT(TOKEN).getClaim("profiles").asList(profileClass);
+
+        assertThat(profiles.size(), is(3));
+        assertThat(field(profiles.get(0), "name"), is((Object) "a"));
+        assertThat(profiles.get(1), is(nullValue()));
+        assertThat(field(profiles.get(2), "id"), is((Object) 2));
+    }
+
+    @Test
+    public void shouldWrapBindingErrors() throws Exception {
+        Class<?> profileClass = compile(PROFILE).loadClass("com.example.Profile");
+        Claim claim = new DecodedJWT(TOKEN).getClaim("broken");
+        try {
+            claim.asObject(profileClass);
+            fail();
+        } catch (DecodeException e) {
+            assertThat(e.getReason(), is(DecodeException.Reason.INVALID_CLAIM));
+            assertThat(e.getCause(), is(instanceOf(IOException.class)));
+            assertThat(e.getCause().getMessage(), is("Expected an int but was \"x\""));
+        }
+    }
+
+    @Test
+    public void shouldRejectPrivateFields() throws Exception {
+        String errors = compileErrors("package com.example;\n" +
+                "@com.auth0.android.jwt.JwtClaims\n" +
+                "public class Hidden {\n" +
+                "    private String name;\n" +
+                "}\n");
+        assertThat(errors, containsString("they can't be private or final"));
+    }
+
+    @Test
+    public void shouldRejectUnsupportedTypes() throws Exception {
+        String errors = compileErrors("package com.example;\n" +
+                "@com.auth0.android.jwt.JwtClaims\n" +
+                "public class Unsupported {\n" +
+                "    public java.util.Map<String, String> values;\n" +
+                "}\n");
+        assertThat(errors, containsString("is not supported by @JwtClaims"));
+    }
+
+    @Test
+    public void shouldRequireDefaultConstructor() throws Exception {
+        String errors = compileErrors("package com.example;\n" +
+                "@com.auth0.android.jwt.JwtClaims\n" +
+                "public class NoDefault {\n" +
+                "    public String name;\n" +
+                "    public NoDefault(String name) {\n" +
+                "        this.name = name;\n" +
+                "    }\n" +
+                "}\n");
+        assertThat(errors, containsString("must have a non-private constructor without parameters"));
+    }
+
+    private ClassLoader compile(String source) throws IOException {
+        File output = folder.newFolder();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        if (!run(source, output, diagnostics)) {
+            fail(diagnostics.getDiagnostics().toString());
+        }
+        return new URLClassLoader(new URL[]{output.toURI().toURL()}, getClass().getClassLoader());
+    }
+
+    private String compileErrors(String source) throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertThat(run(source, folder.newFolder(), diagnostics), is(false));
+        StringBuilder errors = new StringBuilder();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            errors.append(diagnostic.getMessage(Locale.ROOT)).append('\n');
+        }
+        return errors.toString();
+    }
+
+    private boolean run(String source, File output, DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        String className = source.substring(source.indexOf("public class ") + 13, source.indexOf(" {"));
+        File sourceFile = new File(folder.newFolder(), className + ".java");
+        try (Writer writer = new OutputStreamWriter(new java.io.FileOutputStream(sourceFile), "UTF-8")) {
+            writer.write(source);
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            List<String> options = new ArrayList<>(Arrays.asList("-d", output.getPath(), "-classpath", System.getProperty("java.class.path")));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjects(sourceFile));
+            task.setProcessors(Collections.singletonList(new JwtClaimsProcessor()));
+            return task.call();
+        }
+    }
+
+    private static Object field(Object target, String name) throws Exception {
+        return target.getClass().getField(name).get(target);
+    }
+}